@@ -0,0 +1,157 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Random;
+
+/**
+ * Builds synthetic account-list payloads shaped like {@code Account_details_Mapping.json} (a {@code data} array of
+ * accounts, each with nested {@code childAccounts}) and the matching mapping config, shaped like
+ * {@code account_test_simple_transformer.json}. Values are random but seeded, so every run sees the same payload.
+ * <pre>
+ * java AccountPayloadGenerator &lt;accounts&gt; [childAccounts] [nullRate]
+ * </pre>
+ */
+public class AccountPayloadGenerator {
+
+    /** Top-level account fields: source name, target name, data type. */
+    private static final String[][] ACCOUNT_FIELDS = {
+        {"sourceAccountNumber", "accountNumber", "string"},
+        {"accountCurrency", "accountCurrency", "string"},
+        {"currencyDecimal", "currencyDecimal", "long"},
+        {"accountManagerId", "accountManagerId", "string"},
+        {"sourceCustomerId", "sourceCustomerId", "string"},
+        {"staffIndicator", "staffIndicator", "boolean"},
+        {"productType", "productType", "string"},
+        {"schemeCode", "schemeCode", "string"},
+        {"productIndicatorCode", "productCode", "string"},
+        {"productIndicator", "productIndicator", "string"},
+        {"mobileMoneyIdentifier", "mobileMoneyIdentifier", "string"},
+    };
+
+    private static final String[][] CHILD_FIELDS = {
+        {"sourceAccountNumber", "accountNumber", "string"},
+        {"accountCurrency", "accountCurrency", "string"},
+        {"currencyDecimal", "currencyDecimal", "long"},
+        {"accountManagerId", "accountManagerId", "string"},
+        {"sourceCustomerId", "sourceCustomerId", "string"},
+        {"productIndicatorCode", "productCode", "string"},
+        {"productIndicator", "productIndicator", "string"},
+        {"upiNumber", "upiNumber", "long"},
+    };
+
+    private static final String[] CURRENCIES = {"SGD", "USD", "HKD", "INR", "IDR", "TWD"};
+
+    private final ObjectMapper objectMapper;
+    private int accounts = 100;
+    private int childAccounts = 2;
+    private double nullRate = 0.05;
+    private long seed = 42;
+
+    public AccountPayloadGenerator(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public AccountPayloadGenerator accounts(int accounts) {
+        this.accounts = accounts;
+        return this;
+    }
+
+    /** Child accounts per account. */
+    public AccountPayloadGenerator childAccounts(int childAccounts) {
+        this.childAccounts = childAccounts;
+        return this;
+    }
+
+    /** Share of values written as JSON null, so the skip paths get exercised too. */
+    public AccountPayloadGenerator nullRate(double nullRate) {
+        this.nullRate = nullRate;
+        return this;
+    }
+
+    public AccountPayloadGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: AccountPayloadGenerator <accounts> [childAccounts] [nullRate]");
+            System.exit(2);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        AccountPayloadGenerator generator = new AccountPayloadGenerator(objectMapper).accounts(Integer.parseInt(args[0]));
+        if (args.length > 1) generator.childAccounts(Integer.parseInt(args[1]));
+        if (args.length > 2) generator.nullRate(Double.parseDouble(args[2]));
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(System.out, generator.payload());
+    }
+
+    public ObjectNode payload() {
+        Random random = new Random(seed);
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode data = root.putArray("data");
+        for (int a = 0; a < accounts; a++) {
+            ObjectNode account = data.addObject();
+            fill(account, ACCOUNT_FIELDS, a, random);
+            ArrayNode children = account.putArray("childAccounts");
+            for (int c = 0; c < childAccounts; c++) {
+                fill(children.addObject(), CHILD_FIELDS, a * 1000 + c, random);
+            }
+        }
+        root.putArray("error");
+        return root;
+    }
+
+    /**
+     * Mapping config over {@code data[*]} and {@code data[*].childAccounts[*]}; with {@code customTransformer} set,
+     * the account number fields go through that bean, as in the sample config.
+     */
+    public MappingConfig config(String customTransformer) throws Exception {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("mappingId", "account_list_bench_mapping");
+        root.put("name", "Account list mapping (benchmark)");
+        root.put("apiType", "account-list");
+        root.put("source", "Global API Fieldname");
+        root.put("target", "Global API Fieldname");
+        ArrayNode fields = root.putArray("mappedFields");
+        addFields(fields, ACCOUNT_FIELDS, "/data/*/", customTransformer);
+        addFields(fields, CHILD_FIELDS, "/data/*/childAccounts/*/", customTransformer);
+        return objectMapper.treeToValue(root, MappingConfig.class);
+    }
+
+    private static void addFields(ArrayNode fields, String[][] spec, String prefix, String customTransformer) {
+        for (String[] f : spec) {
+            ObjectNode field = fields.addObject();
+            field.put("source", prefix + f[0]);
+            field.put("sourceDataType", f[2]);
+            field.put("target", prefix + f[1]);
+            field.put("targetDataType", f[2]);
+            if (customTransformer != null && f[0].equals("sourceAccountNumber")) {
+                field.put("customTransformer", customTransformer);
+            }
+        }
+    }
+
+    private void fill(ObjectNode node, String[][] spec, int id, Random random) {
+        for (String[] f : spec) {
+            if (random.nextDouble() < nullRate) {
+                node.putNull(f[0]);
+                continue;
+            }
+            switch (f[2]) {
+                case "long" -> node.put(f[0], f[0].equals("currencyDecimal") ? random.nextInt(4) : random.nextInt(1_000_000));
+                case "boolean" -> node.put(f[0], random.nextBoolean());
+                default -> node.put(f[0], text(f[0], id, random));
+            }
+        }
+    }
+
+    private static String text(String field, int id, Random random) {
+        return switch (field) {
+            case "sourceAccountNumber" -> String.format("%012d", 100_000_000_000L + id);
+            case "accountCurrency" -> CURRENCIES[random.nextInt(CURRENCIES.length)];
+            case "sourceCustomerId" -> "CIF" + (1_000_000 + random.nextInt(9_000_000));
+            default -> field.substring(0, Math.min(4, field.length())).toUpperCase() + random.nextInt(10_000);
+        };
+    }
+}
@@ -0,0 +1,270 @@
+package com.dbs.plugin.batch;
+
+import com.dbs.plugin.model.ApiMapping;
+import com.dbs.plugin.service.CountryFilter;
+import com.dbs.plugin.service.IncrementalJsonWriter;
+import com.dbs.plugin.service.MainframeRequestJsonService;
+import com.dbs.plugin.service.MainframeResponseJsonService;
+import com.dbs.plugin.service.MappingRow;
+import com.dbs.plugin.service.MappingSheetScanner;
+import com.dbs.plugin.service.SunCbsRequestJsonService;
+import com.dbs.plugin.service.SunCbsResponseJsonService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Headless batch mode: regenerates the transformer JSONs for every mapping workbook under a directory tree.
+ * <pre>
+ * java com.dbs.plugin.batch.BatchJsonGenerator &lt;inputDir&gt; &lt;outputDir&gt; [--threads=N] [--countries=SG,HK]
+ * </pre>
+ * Each workbook {@code a/b/Mapping.xlsx} is written to {@code outputDir/a/b/Mapping/}, through the same incremental
+ * cache as the IDE action. Workbooks that would share that directory (e.g. {@code Mapping.xlsx} and {@code Mapping.xls})
+ * keep their extension instead: {@code Mapping_xlsx/} and {@code Mapping_xls/}. Workbooks are processed on a bounded
+ * pool; the exit code is non-zero if any failed.
+ */
+public class BatchJsonGenerator {
+
+    private static final ObjectWriter JSON_WRITER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writer();
+
+    private final Path inputDir;
+    private final Path outputDir;
+    private final List<String> countries;
+    private final int threads;
+
+    public BatchJsonGenerator(Path inputDir, Path outputDir, Collection<String> countries, int threads) {
+        this.inputDir = inputDir;
+        this.outputDir = outputDir;
+        this.countries = CountryFilter.normalize(countries);
+        this.threads = Math.max(1, threads);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchJsonGenerator <inputDir> <outputDir> [--threads=N] [--countries=SG,HK]");
+            System.exit(2);
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<String> countries = CountryFilter.DEFAULT_COUNTRIES;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--threads=")) {
+                threads = Integer.parseInt(args[i].substring("--threads=".length()));
+            } else if (args[i].startsWith("--countries=")) {
+                countries = Arrays.asList(args[i].substring("--countries=".length()).split(","));
+            } else {
+                System.err.println("Unknown option: " + args[i]);
+                System.exit(2);
+            }
+        }
+
+        Summary summary = new BatchJsonGenerator(Paths.get(args[0]), Paths.get(args[1]), countries, threads).run();
+        System.exit(summary.getFailed() == 0 ? 0 : 1);
+    }
+
+    public Summary run() throws IOException, InterruptedException {
+        List<Path> workbooks = findWorkbooks();
+        System.out.println("Found " + workbooks.size() + " workbooks under " + inputDir + " (" + threads + " threads)");
+
+        // Bounded queue with caller-runs: submission blocks instead of queueing hundreds of workbooks up front
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        Map<Path, Path> targetDirs = targetDirs(workbooks);
+        Summary summary = new Summary();
+        long start = System.nanoTime();
+        try {
+            for (Path workbook : workbooks) {
+                Path targetDir = targetDirs.get(workbook);
+                pool.execute(() -> summary.add(process(workbook, targetDir)));
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        summary.elapsedNanos = System.nanoTime() - start;
+
+        System.out.println(summary);
+        return summary;
+    }
+
+    private List<Path> findWorkbooks() throws IOException {
+        try (Stream<Path> paths = Files.walk(inputDir)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(p -> {
+                        String name = p.getFileName().toString().toLowerCase(Locale.ROOT);
+                        // ~$ files are Excel lock files of workbooks that are open
+                        return !name.startsWith("~$") && (name.endsWith(".xlsx") || name.endsWith(".xls"));
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /** Output directory per workbook. Names are compared ignoring case, as the output may be on a case-insensitive file system. */
+    private Map<Path, Path> targetDirs(List<Path> workbooks) {
+        Map<String, List<Path>> byTarget = new LinkedHashMap<>();
+        for (Path workbook : workbooks) {
+            String key = targetDir(workbook, false).toString().toLowerCase(Locale.ROOT);
+            byTarget.computeIfAbsent(key, k -> new ArrayList<>()).add(workbook);
+        }
+        Map<Path, Path> targetDirs = new HashMap<>();
+        for (List<Path> group : byTarget.values()) {
+            for (Path workbook : group) {
+                targetDirs.put(workbook, targetDir(workbook, group.size() > 1));
+            }
+        }
+        return targetDirs;
+    }
+
+    private Path targetDir(Path workbook, boolean keepExtension) {
+        Path relative = inputDir.relativize(workbook);
+        String fileName = relative.getFileName().toString();
+        String dirName = fileName.replaceFirst("\\.([^.]+)$", keepExtension ? "_$1" : "");
+        return outputDir.resolve(relative).resolveSibling(dirName);
+    }
+
+    private FileResult process(Path workbook, Path targetDir) {
+        Path relative = inputDir.relativize(workbook);
+
+        long start = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        try {
+            // Every section row is dispatched to both the Sun CBS and the Mainframe listener of its kind,
+            // so counting on the Sun CBS listeners alone counts each row once
+            Map<String, ApiMapping> mappings = MappingSheetScanner.scan(workbook.toFile(),
+                    MappingSheetScanner.ReadMode.forFile(workbook.toFile()),
+                    new CountingListener(new SunCbsRequestJsonService(countries).newListener(), rows),
+                    new MainframeRequestJsonService(countries).newListener(),
+                    new CountingListener(new SunCbsResponseJsonService(countries).newListener(), rows),
+                    new MainframeResponseJsonService(countries).newListener());
+
+            Files.createDirectories(targetDir);
+            IncrementalJsonWriter writer = IncrementalJsonWriter.open(targetDir.toFile(), JSON_WRITER);
+            int written = 0;
+            for (Map.Entry<String, ApiMapping> entry : mappings.entrySet()) {
+                if (writer.write(entry.getKey(), entry.getValue())) written++;
+            }
+            writer.commit();
+
+            FileResult result = new FileResult(relative, System.nanoTime() - start, rows.get(), mappings.size(), written, null);
+            System.out.println(result);
+            return result;
+        } catch (Exception e) {
+            FileResult result = new FileResult(relative, System.nanoTime() - start, rows.get(), 0, 0, e);
+            System.err.println(result);
+            return result;
+        }
+    }
+
+    public static final class FileResult {
+
+        final Path workbook;
+        final long elapsedNanos;
+        final long rows;
+        final int mappings;
+        final int written;
+        final Exception error;
+
+        FileResult(Path workbook, long elapsedNanos, long rows, int mappings, int written, Exception error) {
+            this.workbook = workbook;
+            this.elapsedNanos = elapsedNanos;
+            this.rows = rows;
+            this.mappings = mappings;
+            this.written = written;
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            if (error != null) {
+                return String.format("❌ %s  %d ms  %s", workbook, millis, error);
+            }
+            return String.format("✅ %s  %d ms  %d rows  %d/%d files updated", workbook, millis, rows, written, mappings);
+        }
+    }
+
+    public static final class Summary {
+
+        private int files;
+        private int failed;
+        private long rows;
+        private int written;
+        private long elapsedNanos;
+
+        synchronized void add(FileResult result) {
+            files++;
+            rows += result.rows;
+            written += result.written;
+            if (result.error != null) failed++;
+        }
+
+        public synchronized int getFailed() {
+            return failed;
+        }
+
+        @Override
+        public synchronized String toString() {
+            double seconds = Math.max(elapsedNanos, 1) / 1e9;
+            return String.format("Processed %d workbooks (%d failed), %d rows, %d files updated in %.2f s: "
+                            + "%.1f files/s, %.0f rows/s",
+                    files, failed, rows, written, seconds, files / seconds, rows / seconds);
+        }
+    }
+
+    /** Counts the section rows seen by the wrapped listener, including rows it filters out. */
+    private static class CountingListener implements MappingSheetScanner.SectionListener {
+
+        private final MappingSheetScanner.SectionListener delegate;
+        private final AtomicLong rows;
+
+        CountingListener(MappingSheetScanner.SectionListener delegate, AtomicLong rows) {
+            this.delegate = delegate;
+            this.rows = rows;
+        }
+
+        @Override
+        public MappingSheetScanner.Section getSection() {
+            return delegate.getSection();
+        }
+
+        @Override
+        public boolean usesMergedHeaders() {
+            return delegate.usesMergedHeaders();
+        }
+
+        @Override
+        public void onHeader(String sectionHeader, Map<String, Integer> columnMap) {
+            delegate.onHeader(sectionHeader, columnMap);
+        }
+
+        @Override
+        public void onRow(MappingRow row) {
+            rows.incrementAndGet();
+            delegate.onRow(row);
+        }
+
+        @Override
+        public Map<String, ApiMapping> getResult() {
+            return delegate.getResult();
+        }
+
+        @Override
+        public MappingSheetScanner.SectionListener fork() {
+            return new CountingListener(delegate.fork(), rows);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Optional interface for {@link CustomTransformer} beans that can transform every element of a source array in one
+ * call, e.g. {@code accountNumberTransformer} over the whole {@code data[*]} column.
+ * The engine uses it at the innermost wildcard level when the elements' results go to distinct target elements.
+ */
+public interface BatchTransformer {
+
+    /**
+     * Transforms {@code sources} (the array elements, in order) with the relative {@code field} the per-element call
+     * would get. Returns one result per source, in the same order; {@code null} or a null node writes nothing.
+     */
+    List<JsonNode> transformBatch(List<JsonNode> sources, FieldMapping field, MappingConfig config);
+}
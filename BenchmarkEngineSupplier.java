@@ -0,0 +1,126 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Supplier;
+
+/**
+ * Default engine of {@link TransformEngineBenchmark}: starts the application class named by
+ * {@code -Dtransform.bench.app} without a web server, takes its bean of class {@code -Dtransform.bench.engine-class} and
+ * binds the engine's private workers as method handles, so the engine carries no benchmark types and no widened methods.
+ * Lives with the benchmark, in the engine's package. The context stays open for the forked benchmark JVM.
+ */
+public class BenchmarkEngineSupplier implements Supplier<TransformEngineBenchmark.Engine> {
+
+    static final String APP = "transform.bench.app";
+    static final String ENGINE_CLASS = "transform.bench.engine-class";
+
+    /** Whether both properties are set; the engine benchmarks are only run when they are (or a supplier is given). */
+    static boolean configured() {
+        return System.getProperty(APP) != null && System.getProperty(ENGINE_CLASS) != null;
+    }
+
+    @Override
+    public TransformEngineBenchmark.Engine get() {
+        try {
+            Class<?> app = Class.forName(System.getProperty(APP));
+            Class<?> engineClass = Class.forName(System.getProperty(ENGINE_CLASS));
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(app)
+                    .web(WebApplicationType.NONE)
+                    .run();
+            Object bean = context.getBean(engineClass);
+            // private methods must run on the target, not on a proxy subclass with empty fields
+            Object target = AopProxyUtils.getSingletonTarget(bean);
+            return new Workers(engineClass, target != null ? target : bean);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot reach the workers of " + System.getProperty(ENGINE_CLASS), e);
+        }
+    }
+
+    /** The engine's workers, each bound to the engine instance and called the way the engine calls it. */
+    static final class Workers implements TransformEngineBenchmark.Engine {
+
+        private final MethodHandle arrayProjections;
+        private final MethodHandle arrayProjectionsFused;
+        private final MethodHandle arrayProjectionsInternal;
+        private final MethodHandle arrayProjectionsWithCustom;
+        private final MethodHandle setValueAtPointer;
+
+        Workers(Class<?> engineClass, Object engine) throws ReflectiveOperationException {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(engineClass, MethodHandles.lookup());
+            arrayProjections = lookup.findVirtual(engineClass, "handleArrayProjections", MethodType.methodType(void.class,
+                    JsonNode.class, FieldMapping.class, JsonNode.class, MappingConfig.class)).bindTo(engine);
+            arrayProjectionsFused = lookup.findVirtual(engineClass, "handleArrayProjections", MethodType.methodType(void.class,
+                    JsonNode.class, JsonNode.class, MappingConfig.class)).bindTo(engine);
+            arrayProjectionsInternal = lookup.findVirtual(engineClass, "handleArrayProjectionsInternal",
+                    MethodType.methodType(void.class, JsonNode.class, FieldMapping.class, String.class, String.class,
+                            DependencyPredicate.class, int[].class, int.class, JsonNode.class, MappingConfig.class))
+                    .bindTo(engine);
+            arrayProjectionsWithCustom = lookup.findVirtual(engineClass, "handleArrayProjectionsWithCustom",
+                    MethodType.methodType(void.class, JsonNode.class, FieldMapping.class, JsonNode.class, MappingConfig.class))
+                    .bindTo(engine);
+            setValueAtPointer = lookup.findVirtual(engineClass, "setValueAtPointer", MethodType.methodType(void.class,
+                    String.class, JsonNode.class, JsonNode.class)).bindTo(engine);
+        }
+
+        @Override
+        public void arrayProjections(JsonNode source, FieldMapping field, JsonNode target, MappingConfig config) {
+            try {
+                arrayProjections.invokeExact(source, field, target, config);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void arrayProjectionsFused(JsonNode source, JsonNode target, MappingConfig config) {
+            try {
+                arrayProjectionsFused.invokeExact(source, target, config);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        // as the engine's string-pointer fallback starts it: one level per '*' plus an implicit root array
+        @Override
+        public void arrayProjectionsInternal(JsonNode source, FieldMapping field, JsonNode target, MappingConfig config) {
+            String sourcePointer = field.getSourcePointer();
+            int levels = 1 + (sourcePointer == null ? 0 : (int) sourcePointer.chars().filter(c -> c == '*').count());
+            try {
+                arrayProjectionsInternal.invokeExact(source, field, field.getSourcePointer(), field.getTargetPointer(),
+                        DependencyPredicate.of(field), new int[levels], 0, target, config);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void arrayProjectionsWithCustom(JsonNode source, FieldMapping field, JsonNode target, MappingConfig config) {
+            try {
+                arrayProjectionsWithCustom.invokeExact(source, field, target, config);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void writeAtPointer(String pointer, JsonNode value, JsonNode target) {
+            try {
+                setValueAtPointer.invokeExact(pointer, value, target);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        private static RuntimeException rethrow(Throwable t) {
+            if (t instanceof RuntimeException e) return e;
+            if (t instanceof Error e) throw e;
+            return new IllegalStateException(t);
+        }
+    }
+}
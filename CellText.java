@@ -0,0 +1,45 @@
+package com.dbs.plugin.service;
+
+import org.apache.poi.ss.formula.eval.ErrorEval;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+
+/**
+ * Reads a cell as the text {@code cell.setCellType(CellType.STRING)} would leave behind, without changing the
+ * workbook: strings as-is, booleans as {@code TRUE}/{@code FALSE}, numbers and errors as their stored value
+ * (the raw XML value for .xlsx, the shortest round-trip text for .xls), and formulas by their cached result.
+ */
+public final class CellText {
+
+    private static final String TRUE = "TRUE";
+    private static final String FALSE = "FALSE";
+
+    private CellText() {}
+
+    /** Trimmed cell text, {@code ""} for absent, blank or unreadable cells. */
+    public static String of(Cell cell) {
+        if (cell == null) return "";
+        try {
+            CellType type = cell.getCellType();
+            if (type == CellType.FORMULA) {
+                type = cell.getCachedFormulaResultType();
+            }
+            String text = switch (type) {
+                case STRING -> cell.getStringCellValue();
+                case BOOLEAN -> cell.getBooleanCellValue() ? TRUE : FALSE;
+                case NUMERIC -> cell instanceof XSSFCell xssf
+                        ? xssf.getRawValue()
+                        : NumberToTextConverter.toText(cell.getNumericCellValue());
+                case ERROR -> cell instanceof XSSFCell xssf
+                        ? xssf.getRawValue()
+                        : ErrorEval.getText(cell.getErrorCellValue());
+                default -> "";
+            };
+            return text == null ? "" : text.trim();
+        } catch (Exception e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.dbs.plugin.service;
+
+import java.util.Map;
+
+/**
+ * Resolves the header names a mapping needs into a fixed column plan once per section header,
+ * so data rows are read by array index instead of header-string lookups.
+ */
+public final class ColumnProjection {
+
+    /** Marks a header that is missing from the section; reads of it yield {@code ""}. */
+    public static final int ABSENT = -1;
+
+    private ColumnProjection() {}
+
+    public static int[] compile(Map<String, Integer> columnMap, String... headers) {
+        int[] plan = new int[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            Integer col = columnMap.get(headers[i]);
+            plan[i] = col == null ? ABSENT : col;
+        }
+        return plan;
+    }
+}
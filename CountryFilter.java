@@ -0,0 +1,120 @@
+package com.dbs.plugin.service;
+
+import java.util.*;
+
+/**
+ * Per-country row predicates, compiled once per section header.
+ * A row applies to a country when its {@code Applicable Country} cell lists the country code and the country's
+ * availability column (e.g. {@code HK Mandatory}) is not blank. {@link #match} evaluates every configured country
+ * in one read of the row and returns the result as a bit mask, so a single scan yields one mapping per country.
+ */
+public final class CountryFilter {
+
+    public static final String DEFAULT_COUNTRY = "SG";
+    public static final List<String> DEFAULT_COUNTRIES = List.of(DEFAULT_COUNTRY);
+
+    private static final int MAX_COUNTRIES = Long.SIZE;
+
+    private final String[] countries;
+    private final int countryColumn;
+    private final int[] availabilityColumns;
+
+    private CountryFilter(String[] countries, int countryColumn, int[] availabilityColumns) {
+        this.countries = countries;
+        this.countryColumn = countryColumn;
+        this.availabilityColumns = availabilityColumns;
+    }
+
+    /** Upper-cased, de-duplicated country codes in their configured order. */
+    public static List<String> normalize(Collection<String> countries) {
+        if (countries == null || countries.isEmpty()) return DEFAULT_COUNTRIES;
+
+        Set<String> codes = new LinkedHashSet<>();
+        for (String country : countries) {
+            if (country != null && !country.trim().isEmpty()) {
+                codes.add(country.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        if (codes.size() > MAX_COUNTRIES) {
+            throw new IllegalArgumentException("At most " + MAX_COUNTRIES + " countries per scan, got " + codes.size());
+        }
+        return codes.isEmpty() ? DEFAULT_COUNTRIES : List.copyOf(codes);
+    }
+
+    /**
+     * @param availabilitySuffix header suffix of the per-country availability column, e.g. {@code " Mandatory"}
+     *                           or {@code " Field Availability"}
+     */
+    public static CountryFilter compile(List<String> countries, Map<String, Integer> columnMap,
+                                        String countryHeader, String availabilitySuffix) {
+        String[] codes = countries.toArray(new String[0]);
+        String[] availabilityHeaders = new String[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            availabilityHeaders[i] = codes[i] + availabilitySuffix;
+        }
+        return new CountryFilter(codes,
+                ColumnProjection.compile(columnMap, countryHeader)[0],
+                ColumnProjection.compile(columnMap, availabilityHeaders));
+    }
+
+    public int size() {
+        return countries.length;
+    }
+
+    public String country(int index) {
+        return countries[index];
+    }
+
+    /** Suffix appended to mapping ids; the default country keeps the historical unsuffixed names. */
+    public String idSuffix(int index) {
+        return DEFAULT_COUNTRY.equals(countries[index]) ? "" : "_" + countries[index].toLowerCase(Locale.ROOT);
+    }
+
+    /** Bit {@code i} is set when the row applies to {@link #country(int) country(i)}; {@code 0} when it applies to none. */
+    public long match(MappingRow row) {
+        if (countryColumn == ColumnProjection.ABSENT) return 0;
+
+        String cell = row.getValue(countryColumn);
+        long mask = 0;
+        int i = 0;
+        int n = cell.length();
+        while (i < n) {
+            // Country codes are letter runs; commas, slashes and spaces separate them
+            while (i < n && !Character.isLetter(cell.charAt(i))) i++;
+            int start = i;
+            while (i < n && Character.isLetter(cell.charAt(i))) i++;
+            int len = i - start;
+            if (len == 0) break;
+
+            for (int c = 0; c < countries.length; c++) {
+                if ((mask & (1L << c)) == 0
+                        && len == countries[c].length()
+                        && cell.regionMatches(true, start, countries[c], 0, len)
+                        && availabilityColumns[c] != ColumnProjection.ABSENT
+                        && !row.getValue(availabilityColumns[c]).isEmpty()) {
+                    mask |= 1L << c;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /** One empty list per country, indexed like {@link #country(int)}. */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T>[] newLists(int count) {
+        List<T>[] lists = new List[count];
+        for (int i = 0; i < count; i++) {
+            lists[i] = new ArrayList<>();
+        }
+        return lists;
+    }
+
+    /** Adds the item to every list whose bit is set in the {@link #match} mask. */
+    public static <T> void addMatching(List<T>[] lists, long countryMask, T item) {
+        for (int c = 0; c < lists.length; c++) {
+            if ((countryMask & (1L << c)) != 0) {
+                lists[c].add(item);
+            }
+        }
+    }
+}
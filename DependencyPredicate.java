@@ -0,0 +1,249 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compiled {@code dependencies} of a field mapping. Each key is split once into literal parts around its {@code *}s;
+ * the k-th {@code *} takes the index of the k-th enclosing array ({@code bindings[k]}), as
+ * {@code remapDependenciesLocal} did by rewriting the key at every level. Stars beyond the bound levels stay literal.
+ * <p>
+ * The config's dependent values are resolved once per config instance into nested tables addressed by the bindings
+ * (kept by identity and held weakly, so a predicate used with several configs never rebuilds them per element), so
+ * {@link #test} does array reads, a binary search for sparse indexes and {@code equals} only: no key strings, maps or
+ * iterators per element.
+ * {@link #precompile} resolves every field at config load. Dependent values are part of the shared config and must
+ * not be mutated in place; a replaced map is re-resolved.
+ */
+public final class DependencyPredicate {
+
+    /** Predicate of fields without dependencies. */
+    public static final DependencyPredicate ALWAYS = new DependencyPredicate(new Term[0]);
+
+    /** Digits of an index in a key; nine always fit an int. */
+    private static final int MAX_DIGITS = 9;
+
+    private static final IdentityCache<FieldMapping, DependencyPredicate> CACHE = new IdentityCache<>();
+
+    private final Term[] terms;
+    /** Dependent values per config; a field's predicate normally sees one config, or two across a reload. */
+    private final IdentityCache<MappingConfig, Resolved> resolved = new IdentityCache<>(2);
+
+    private DependencyPredicate(Term[] terms) {
+        this.terms = terms;
+    }
+
+    public static DependencyPredicate compile(Map<String, String> deps) {
+        if (deps == null || deps.isEmpty()) return ALWAYS;
+        List<Term> terms = new ArrayList<>(deps.size());
+        for (Map.Entry<String, String> e : deps.entrySet()) {
+            terms.add(Term.compile(e.getKey(), e.getValue()));
+        }
+        return new DependencyPredicate(terms.toArray(new Term[0]));
+    }
+
+    /** Cached predicate of the field's dependencies, per field instance (held weakly). */
+    public static DependencyPredicate of(FieldMapping field) {
+        Map<String, String> deps = field.getDependencies();
+        if (deps == null || deps.isEmpty()) return ALWAYS;
+        DependencyPredicate predicate = CACHE.get(field);
+        if (predicate == null) {
+            predicate = CACHE.putIfAbsent(field, compile(deps));
+        }
+        return predicate;
+    }
+
+    /** Compiles every field's predicate and resolves it over the config's dependent values; call at config load. */
+    public static void precompile(MappingConfig config) {
+        if (config.getMappedFields() == null) return;
+        for (FieldMapping field : config.getMappedFields()) {
+            of(field).resolve(config);
+        }
+    }
+
+    /**
+     * Whether every dependency holds for the first {@code boundLevels} entries of {@code bindings}.
+     * Like {@code dependenciesMatchLocal}, a field with dependencies never matches when there are no dependent values.
+     */
+    public boolean test(int[] bindings, int boundLevels, MappingConfig config) {
+        if (terms.length == 0) return true;
+        Resolved r = resolve(config);
+        if (r == null) return false;
+
+        for (int i = 0; i < terms.length; i++) {
+            Term term = terms[i];
+            int levels = Math.min(term.stars(), boundLevels);
+            Object node = r.tables[i][levels];
+            for (int level = 0; level < levels && node != null; level++) {
+                node = Resolved.child(node, bindings[level]);
+            }
+            if (!Objects.equals(term.expected, node)) return false;
+        }
+        return true;
+    }
+
+    /** The config's dependent values resolved for this predicate, or {@code null} when it has none. */
+    private Resolved resolve(MappingConfig config) {
+        if (terms.length == 0) return null;
+        Map<String, String> dependentValues = config.getDependentValues();
+        if (dependentValues == null) return null;
+
+        Resolved r = resolved.get(config);
+        if (r == null || r.source != dependentValues) {
+            r = new Resolved(dependentValues, terms);
+            resolved.put(config, r);
+        }
+        return r;
+    }
+
+    /** One dependency: the key's literal parts around its stars and the value it must have. */
+    private record Term(String[] parts, String expected) {
+
+        static Term compile(String key, String expected) {
+            if (key == null) return new Term(new String[]{null}, expected);
+            List<String> parts = new ArrayList<>();
+            int start = 0;
+            for (int star = key.indexOf('*'); star >= 0; star = key.indexOf('*', start)) {
+                parts.add(key.substring(start, star));
+                start = star + 1;
+            }
+            parts.add(key.substring(start));
+            return new Term(parts.toArray(new String[0]), expected);
+        }
+
+        int stars() {
+            return parts.length - 1;
+        }
+
+        /** The key with every star literal, as looked up when no level is bound. */
+        String literal() {
+            if (parts[0] == null) return null;
+            StringBuilder sb = new StringBuilder(parts[0]);
+            for (int p = 1; p < parts.length; p++) sb.append('*').append(parts[p]);
+            return sb.toString();
+        }
+
+        /**
+         * Every way {@code key} parses as this term with the first {@code levels} stars replaced by array indexes
+         * (written the way String.valueOf writes them) and the rest literal. A digit right after a star is ambiguous
+         * ({@code acct*1} is {@code acct21} for index 2), so each digit run is only taken where the rest of the key can
+         * follow it, and a key that fits several bindings (as {@code remapDependenciesLocal} would produce it for each)
+         * yields all of them.
+         */
+        List<int[]> match(String key, int levels) {
+            if (parts[0] == null || !key.startsWith(parts[0])) return List.of();
+            List<int[]> matches = new ArrayList<>(1);
+            match(key, levels, 1, parts[0].length(), new int[levels], matches);
+            return matches;
+        }
+
+        private void match(String key, int levels, int p, int pos, int[] indexes, List<int[]> matches) {
+            if (p == parts.length) {
+                if (pos == key.length()) matches.add(indexes.clone());
+                return;
+            }
+            if (p > levels) {
+                if (key.startsWith("*", pos) && key.startsWith(parts[p], pos + 1)) {
+                    match(key, levels, p + 1, pos + 1 + parts[p].length(), indexes, matches);
+                }
+                return;
+            }
+            int index = 0;
+            for (int end = pos; end < key.length() && end - pos < MAX_DIGITS; end++) {
+                char ch = key.charAt(end);
+                if (ch < '0' || ch > '9' || (end > pos && key.charAt(pos) == '0')) break;
+                index = index * 10 + (ch - '0');
+                if (key.startsWith(parts[p], end + 1)) {
+                    indexes[p - 1] = index;
+                    match(key, levels, p + 1, end + 1 + parts[p].length(), indexes, matches);
+                }
+            }
+        }
+    }
+
+    /**
+     * Dependent values resolved for every term and every number of bound levels:
+     * {@code tables[term][levels]} is the value itself when {@code levels == 0}, otherwise nested tables indexed by the
+     * first {@code levels} bindings. Each table is built once at its final size: an {@code Object[]} when its indexes
+     * are dense, a {@link Sparse} when a few large indexes would leave it mostly empty.
+     */
+    private static final class Resolved {
+
+        private static final Comparator<Entry> BY_INDEXES = (a, b) -> Arrays.compare(a.indexes, b.indexes);
+
+        final Map<String, String> source;
+        final Object[][] tables;
+
+        Resolved(Map<String, String> source, Term[] terms) {
+            this.source = source;
+            this.tables = new Object[terms.length][];
+            for (int i = 0; i < terms.length; i++) {
+                Term term = terms[i];
+                Object[] byLevels = new Object[term.stars() + 1];
+                byLevels[0] = source.get(term.literal());
+                for (int levels = 1; levels <= term.stars(); levels++) {
+                    List<Entry> entries = new ArrayList<>();
+                    for (Map.Entry<String, String> e : source.entrySet()) {
+                        if (e.getKey() == null) continue;
+                        for (int[] indexes : term.match(e.getKey(), levels)) {
+                            entries.add(new Entry(indexes, e.getValue()));
+                        }
+                    }
+                    entries.sort(BY_INDEXES);
+                    byLevels[levels] = build(entries, 0, entries.size(), 0);
+                }
+                tables[i] = byLevels;
+            }
+        }
+
+        static Object child(Object table, int index) {
+            if (table instanceof Object[] array) return index >= 0 && index < array.length ? array[index] : null;
+            return ((Sparse) table).get(index);
+        }
+
+        // table of entries [from, to), sorted by indexes, at one level
+        private static Object build(List<Entry> entries, int from, int to, int level) {
+            int groups = 0;
+            for (int e = from; e < to; e++) {
+                if (e == from || entries.get(e).indexes[level] != entries.get(e - 1).indexes[level]) groups++;
+            }
+            int maxIndex = to > from ? entries.get(to - 1).indexes[level] : -1;
+            boolean dense = maxIndex < 2 * groups + 16;
+            Object[] array = dense ? new Object[maxIndex + 1] : null;
+            int[] keys = dense ? null : new int[groups];
+            Object[] values = dense ? null : new Object[groups];
+
+            int g = 0;
+            for (int start = from; start < to; g++) {
+                int index = entries.get(start).indexes[level];
+                int end = start + 1;
+                while (end < to && entries.get(end).indexes[level] == index) end++;
+                Object value = level == entries.get(start).indexes.length - 1
+                        ? entries.get(start).value
+                        : build(entries, start, end, level + 1);
+                if (dense) {
+                    array[index] = value;
+                } else {
+                    keys[g] = index;
+                    values[g] = value;
+                }
+                start = end;
+            }
+            return dense ? array : new Sparse(keys, values);
+        }
+
+        private record Entry(int[] indexes, String value) {
+        }
+    }
+
+    /** Table of a few large indexes, sorted. */
+    private record Sparse(int[] keys, Object[] values) {
+
+        Object get(int index) {
+            int i = Arrays.binarySearch(keys, index);
+            return i >= 0 ? values[i] : null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.dbs.plugin.bench;
+
+import com.dbs.plugin.model.ApiMapping;
+import com.dbs.plugin.service.MainframeRequestJsonService;
+import com.dbs.plugin.service.MainframeResponseJsonService;
+import com.dbs.plugin.service.MappingSheetScanner;
+import com.dbs.plugin.service.SunCbsRequestJsonService;
+import com.dbs.plugin.service.SunCbsResponseJsonService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation rate of the extraction services over generated workbooks.
+ * Run {@link #main} to get the gc profiler and a machine-readable {@code jmh-extraction.json} (or the path in the
+ * first argument) that can be diffed between runs; extra arguments are passed through as JMH include patterns.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ExtractionBenchmark {
+
+    @Param({"1000", "20000", "200000"})
+    public int rows;
+
+    @Param({"20"})
+    public int sections;
+
+    @Param({"SG", "SG,HK,IN,ID,TW"})
+    public String countries;
+
+    @Param({"true"})
+    public boolean mergedRegions;
+
+    @Param({"DOM", "STREAMING"})
+    public MappingSheetScanner.ReadMode mode;
+
+    private File workbook;
+    private List<String> countryList;
+
+    @Setup(Level.Trial)
+    public void generate() throws Exception {
+        countryList = Arrays.asList(countries.split(","));
+        workbook = File.createTempFile("mapping-bench-", ".xlsx");
+        new MappingWorkbookGenerator()
+                .rows(rows)
+                .sections(sections)
+                .countries(List.of("SG", "HK", "IN", "ID", "TW"))
+                .mergedRegions(mergedRegions)
+                .write(workbook);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws Exception {
+        Files.deleteIfExists(workbook.toPath());
+    }
+
+    @Benchmark
+    public Map<String, ApiMapping> sunCbsRequest() throws Exception {
+        return new SunCbsRequestJsonService(countryList).extractSunCbsRequestMappings(workbook, mode);
+    }
+
+    @Benchmark
+    public Map<String, ApiMapping> sunCbsResponse() throws Exception {
+        return new SunCbsResponseJsonService(countryList).extractSunCbsResponseMappings(workbook, mode);
+    }
+
+    @Benchmark
+    public Map<String, ApiMapping> mainframeRequest() throws Exception {
+        return new MainframeRequestJsonService(countryList).extractMainframeRequestMappings(workbook, mode);
+    }
+
+    @Benchmark
+    public Map<String, ApiMapping> mainframeResponse() throws Exception {
+        return new MainframeResponseJsonService(countryList).extractMainframeResponseMappings(workbook, mode);
+    }
+
+    /** What the IDE action runs: all four mapping types from one pass. */
+    @Benchmark
+    public Map<String, ApiMapping> allInOnePass() throws Exception {
+        return MappingSheetScanner.scan(workbook, mode,
+                new SunCbsRequestJsonService(countryList).newListener(),
+                new MainframeRequestJsonService(countryList).newListener(),
+                new SunCbsResponseJsonService(countryList).newListener(),
+                new MainframeResponseJsonService(countryList).newListener());
+    }
+
+    public static void main(String[] args) throws Exception {
+        String resultFile = args.length > 0 ? args[0] : "jmh-extraction.json";
+
+        OptionsBuilder options = new OptionsBuilder();
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) options.include(args[i]);
+        } else {
+            options.include(ExtractionBenchmark.class.getSimpleName());
+        }
+        Options opts = options
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -1,13 +1,53 @@
+// Metrics entry — callers that know the mapping id run the transformation inside a TransformMetrics request, which
+// times it, measures the thread's allocations and collects the workers' counts under that id. Not called yet: the
+// engine's transform entry, which has the mapping id, is not part of this tree; until it wraps its work in this, no
+// request is open and the workers' TransformMetrics hooks record nothing.
+private JsonNode transformMeasured(String mappingId, java.util.function.Supplier<JsonNode> transformation) {
+    try (TransformMetrics.Request ignored = transformMetrics.start(mappingId)) {
+        return transformation.get();
+    }
+}
+
 private void handleArrayProjections(JsonNode sourceNode,
                                     FieldMapping field,
                                     JsonNode targetNode,
                                     MappingConfig config) {
+    long started = TransformMetrics.fieldStart();
+    handleArrayProjectionsUntimed(sourceNode, field, targetNode, config);
+    TransformMetrics.fieldEnd(field, started);
+}
+
+private void handleArrayProjectionsUntimed(JsonNode sourceNode,
+                                           FieldMapping field,
+                                           JsonNode targetNode,
+                                           MappingConfig config) {
+    if (sourceNode == null || sourceNode.isNull()) return;
+
+    if (field.getSourcePointer() != null && field.getTargetPointer() != null) {
+        ProjectionPlan plan = ProjectionPlan.of(field);
+        // Root shapes that disagree with the pointer (implicit root arrays, "/*" over an object target)
+        // keep the string-based worker
+        boolean implicitSourceArray = sourceNode.isArray() && !plan.source().startsWithWildcard();
+        boolean targetRootMismatch = targetNode.isArray() != plan.target().startsWithWildcard();
+        if (plan.depth() > 0 && !implicitSourceArray && !targetRootMismatch) {
+            int[] bindings = new int[plan.depth()];
+            handleArrayProjectionsCompiled(sourceNode, field, plan, DependencyPredicate.of(field), 0, 0,
+                    bindings, targetNode, config);
+            return;
+        }
+    }
+
+    // one level per '*' plus an implicit root array
+    String sourcePointer = field.getSourcePointer();
+    int levels = 1 + (sourcePointer == null ? 0 : (int) sourcePointer.chars().filter(c -> c == '*').count());
     handleArrayProjectionsInternal(
         sourceNode,
         field,
         field.getSourcePointer(),
         field.getTargetPointer(),
-        field.getDependencies(),
+        DependencyPredicate.of(field),
+        new int[levels],
+        0,
         targetNode,
         config
     );
@@ -15,12 +55,243 @@ private void handleArrayProjections(JsonNode sourceNode,
 
 
 
-// Recursive worker — passes around local pointer strings & deps (NO mutation)
+// Compiled worker — one level per wildcard; indices go into bindings, pointers are never rebuilt
+private void handleArrayProjectionsCompiled(JsonNode scope,
+                                            FieldMapping field,
+                                            ProjectionPlan plan,
+                                            DependencyPredicate dependencies,
+                                            int level,
+                                            int fromToken,
+                                            int[] bindings,
+                                            JsonNode targetNode,
+                                            MappingConfig config) {
+    PointerProgram source = plan.source();
+    int starToken = source.wildcardToken(level);
+
+    JsonNode sourceArrayNode = source.read(scope, fromToken, starToken, bindings);
+    if (sourceArrayNode == null || !sourceArrayNode.isArray() || sourceArrayNode.size() == 0) return;
+    if (level > 0) {
+        // nested target arrays exist as soon as their source array has elements, as in the string worker
+        plan.target().container(targetNode, 0, plan.target().wildcardToken(level), bindings, objectMapper.getNodeFactory());
+    }
+    TransformMetrics.arrayElements(sourceArrayNode.size());
+
+    boolean leafLevel = level == plan.depth() - 1;
+    int skipped = 0;
+    int rejected = 0;
+    for (int i = 0; i < sourceArrayNode.size(); i++) {
+        JsonNode indexedSourceNode = sourceArrayNode.get(i);
+        if (indexedSourceNode == null) continue;
+        bindings[level] = i;
+
+        if (!leafLevel) {
+            handleArrayProjectionsCompiled(indexedSourceNode, field, plan, dependencies, level + 1, starToken + 1,
+                    bindings, targetNode, config);
+            continue;
+        }
+
+        JsonNode value = source.read(indexedSourceNode, starToken + 1, source.size(), bindings);
+        if (value == null || value.isNull() || value.isMissingNode()) {
+            skipped++;
+            continue;
+        }
+        if (!dependencies.test(bindings, bindings.length, config)) {
+            rejected++;
+            continue;
+        }
+
+        if (field.getOperationType() != null) {
+            value = customOperationHandling(value, field);
+        }
+        if (!io.micrometer.common.util.StringUtils.isBlank(field.getTargetDataType())) {
+            value = convertValue(value, field);
+        }
+
+        plan.target().write(targetNode, value, bindings, objectMapper.getNodeFactory());
+    }
+    TransformMetrics.leaves(skipped, rejected);
+}
+
+// Config-level array entry — applies every field FusedProjection.handles in one fused pass, in place of one
+// handleArrayProjections(source, field, ...) call per such field. Not called yet: the engine's field loop, which is
+// not part of this tree, still calls the per-field entry for every array field, so the fused pass is inert until
+// that loop calls this once per payload and skips the fields FusedProjection.handles takes.
+private void handleArrayProjections(JsonNode sourceNode, JsonNode targetNode, MappingConfig config) {
+    handleArrayProjectionsFused(sourceNode, FusedProjection.of(config), targetNode, config);
+}
+
+// Fused entry — fields sharing a wildcard prefix are applied together while each source array is visited once.
+// Compile the FusedProjection with the MappingConfig; write order differs from the per-field loop only when
+// two fields target the same leaf.
+private void handleArrayProjectionsFused(JsonNode sourceNode,
+                                         FusedProjection fused,
+                                         JsonNode targetNode,
+                                         MappingConfig config) {
+    if (sourceNode == null || sourceNode.isNull()) return;
+
+    if (sourceNode.isArray() || targetNode.isArray()) {
+        // root arrays are implicit wildcards: fall back to the per-field path for everything
+        for (FusedProjection.Group group : fused.groups()) {
+            handleArrayProjectionsPerField(sourceNode, group, targetNode, config);
+        }
+    } else {
+        int[] bindings = new int[fused.depth()];
+        FusedProjection.TargetCursor root =
+                FusedProjection.TargetCursor.root(targetNode, bindings, objectMapper.getNodeFactory());
+        for (FusedProjection.Group group : fused.groups()) {
+            long started = TransformMetrics.fieldStart();
+            if (!handleFusedGroupParallel(sourceNode, fused, group, targetNode, config)) {
+                handleFusedGroup(sourceNode, group, root, bindings, config);
+            }
+            TransformMetrics.groupEnd(group.targetArrayPath(), started);
+        }
+    }
+
+    for (FieldMapping field : fused.unfused()) {
+        handleArrayProjections(sourceNode, field, targetNode, config);
+    }
+}
+
+private void handleFusedGroup(JsonNode scope,
+                              FusedProjection.Group group,
+                              FusedProjection.TargetCursor parent,
+                              int[] bindings,
+                              MappingConfig config) {
+    JsonNode sourceArrayNode = group.readArray(scope, bindings);
+    if (sourceArrayNode == null || !sourceArrayNode.isArray() || sourceArrayNode.size() == 0) return;
+
+    FusedProjection.TargetCursor cursor = parent.child(group);
+    if (group.level() > 0) cursor.open();
+
+    handleFusedElements(sourceArrayNode, 0, sourceArrayNode.size(), group, cursor, bindings, config);
+}
+
+// Elements [from, to) of one group's source array
+private void handleFusedElements(JsonNode sourceArrayNode,
+                                 int from,
+                                 int to,
+                                 FusedProjection.Group group,
+                                 FusedProjection.TargetCursor cursor,
+                                 int[] bindings,
+                                 MappingConfig config) {
+    TransformMetrics.arrayElements(to - from);
+    int skipped = 0;
+    int rejected = 0;
+    for (int i = from; i < to; i++) {
+        JsonNode indexedSourceNode = sourceArrayNode.get(i);
+        if (indexedSourceNode == null) continue;
+        bindings[group.level()] = i;
+        cursor.next();
+
+        for (int f = 0; f < group.fieldCount(); f++) {
+            FieldMapping field = group.field(f);
+            JsonNode value = group.readLeaf(f, indexedSourceNode, bindings);
+            if (value == null || value.isNull() || value.isMissingNode()) {
+                skipped++;
+                continue;
+            }
+            if (!group.dependencies(f).test(bindings, group.level() + 1, config)) {
+                rejected++;
+                continue;
+            }
+
+            if (field.getOperationType() != null) {
+                value = customOperationHandling(value, field);
+            }
+            if (!io.micrometer.common.util.StringUtils.isBlank(field.getTargetDataType())) {
+                value = convertValue(value, field);
+            }
+            cursor.write(f, value);
+        }
+
+        for (FusedProjection.Group child : group.children()) {
+            handleFusedGroup(indexedSourceNode, child, cursor, bindings, config);
+        }
+    }
+    TransformMetrics.leaves(skipped, rejected);
+}
+
+// Parallel mode (transform.parallel.*) — a large top-level array is cut into chunks that run on the common
+// fork-join pool, each writing its elements from position 0 of its own scratch array (the source index stays in the
+// bindings for the dependency checks); the chunks' arrays are then appended in order, so the result is the one the
+// serial loop builds. Only taken when no other group writes into the same target array and
+// it does not exist yet. Tasks share the config, dependency predicates and convertValue/customOperationHandling,
+// which must stay free of per-call state. Returns false when the group should run serially.
+private boolean handleFusedGroupParallel(JsonNode sourceNode,
+                                         FusedProjection fused,
+                                         FusedProjection.Group group,
+                                         JsonNode targetNode,
+                                         MappingConfig config) {
+    JsonNode sourceArrayNode = group.readArray(sourceNode, new int[0]);
+    if (sourceArrayNode == null || !sourceArrayNode.isArray()) return false;
+    if (!parallelProperties.shouldSplit(sourceArrayNode.size())) return false;
+    if (group.readTargetArray(targetNode) != null) return false;
+    for (FusedProjection.Group other : fused.groups()) {
+        if (other != group && other.targetArrayPath().equals(group.targetArrayPath())) return false;
+    }
+
+    int size = sourceArrayNode.size();
+    int chunkSize = parallelProperties.getChunkSize();
+    TransformMetrics.Request request = TransformMetrics.current();
+    List<ForkJoinTask<JsonNode>> chunks = new ArrayList<>();
+    for (int start = 0; start < size; start += chunkSize) {
+        int from = start;
+        int to = Math.min(size, start + chunkSize);
+        chunks.add(ForkJoinPool.commonPool().submit(() -> TransformMetrics.callAs(request, () -> {
+            ObjectNode chunkRoot = objectMapper.createObjectNode();
+            int[] bindings = new int[fused.depth()];
+            FusedProjection.TargetCursor cursor = FusedProjection.TargetCursor
+                    .root(chunkRoot, bindings, objectMapper.getNodeFactory())
+                    .child(group, from);
+            handleFusedElements(sourceArrayNode, from, to, group, cursor, bindings, config);
+            return group.readTargetArray(chunkRoot);
+        })));
+    }
+
+    ArrayNode merged = null;
+    for (int c = 0; c < chunks.size(); c++) {
+        JsonNode chunkArray;
+        try {
+            chunkArray = chunks.get(c).join();
+        } catch (RuntimeException e) {
+            chunks.forEach(chunk -> chunk.cancel(false));
+            throw e;
+        }
+        if (chunkArray == null || !chunkArray.isArray()) continue;
+
+        if (merged == null) {
+            merged = (ArrayNode) group.openTargetArray(targetNode, objectMapper.getNodeFactory());
+        }
+        // chunk c starts at element c * chunkSize and ends at its last written element; earlier chunks may end short
+        int base = c * chunkSize;
+        for (int j = 0; j < chunkArray.size(); j++) {
+            while (merged.size() < base + j) merged.addNull();
+            merged.add(chunkArray.get(j));
+        }
+    }
+    return true;
+}
+
+private void handleArrayProjectionsPerField(JsonNode sourceNode,
+                                            FusedProjection.Group group,
+                                            JsonNode targetNode,
+                                            MappingConfig config) {
+    for (int f = 0; f < group.fieldCount(); f++) {
+        handleArrayProjections(sourceNode, group.field(f), targetNode, config);
+    }
+    for (FusedProjection.Group child : group.children()) {
+        handleArrayProjectionsPerField(sourceNode, child, targetNode, config);
+    }
+}
+
+// Recursive worker — passes around local pointer strings; dependency stars bind through bindings[level] (NO mutation)
 private void handleArrayProjectionsInternal(JsonNode sourceNode,
                                             FieldMapping field,
                                             String curSourcePtr,
                                             String curTargetPtr,
-                                            Map<String, String> curDependencies,
+                                            DependencyPredicate dependencies,
+                                            int[] bindings,
+                                            int level,
                                             JsonNode targetNode,
                                             MappingConfig config) {
     if (sourceNode == null || sourceNode.isNull()) return;
@@ -55,17 +326,25 @@ private void handleArrayProjectionsInternal(JsonNode sourceNode,
     }
     if (sourceArrayNode == null || !sourceArrayNode.isArray() || sourceArrayNode.size() == 0) return;
 
+    if (level >= bindings.length) {
+        // arrays nested directly in arrays recurse once more than the pointer has stars
+        bindings = java.util.Arrays.copyOf(bindings, level + 1);
+    }
+
     String nextTargetBase = curTargetPtr;
     if (tgtStartsWithArray && nextTargetBase != null && nextTargetBase.startsWith("/*")) {
         nextTargetBase = nextTargetBase.substring(2);
     }
+    TransformMetrics.arrayElements(sourceArrayNode.size());
 
+    int skipped = 0;
+    int rejected = 0;
     for (int i = 0; i < sourceArrayNode.size(); i++) {
         JsonNode indexedSourceNode = sourceArrayNode.get(i);
         if (indexedSourceNode == null) continue;
 
-        // index-scoped deps (no mutation to FieldMapping)
-        Map<String, String> idxDeps = remapDependenciesLocal(curDependencies, i);
+        // the k-th '*' of each dependency key takes the index of this level
+        bindings[level] = i;
 
         // resolve this index’s target pointer
         String idxTargetPtr = curTargetPtr == null ? "" : curTargetPtr;
@@ -83,14 +362,20 @@ private void handleArrayProjectionsInternal(JsonNode sourceNode,
                     ? indexedSourceNode
                     : getValueFromPointer(nextSourcePtr, indexedSourceNode);
 
-            if (value == null || value.isNull() || value.isMissingNode()) continue;
-            if (!dependenciesMatchLocal(idxDeps, config)) continue;
+            if (value == null || value.isNull() || value.isMissingNode()) {
+                skipped++;
+                continue;
+            }
+            if (!dependencies.test(bindings, level + 1, config)) {
+                rejected++;
+                continue;
+            }
 
             if (field.getOperationType() != null) {
                 value = customOperationHandling(value, field);
             }
             if (!io.micrometer.common.util.StringUtils.isBlank(field.getTargetDataType())) {
-                value = convertDataType(value, field.getTargetDataType(), field.getTargetPointer());
+                value = convertValue(value, field);
             }
 
             if (!targetIsDynamic) {
@@ -152,7 +437,9 @@ private void handleArrayProjectionsInternal(JsonNode sourceNode,
             field,
             deeperSourcePtr,
             deeperTargetPtr,
-            idxDeps,
+            dependencies,
+            bindings,
+            level + 1,
             nestedTargetArray,
             config
         );
@@ -168,35 +455,64 @@ private void handleArrayProjectionsInternal(JsonNode sourceNode,
             targetArrayNode.set(i, row);
         }
     }
+    TransformMetrics.leaves(skipped, rejected);
 }
 
 
-
-// local-only: replace '*' with index; NO mutation to original map
-private Map<String, String> remapDependenciesLocal(Map<String, String> deps, int idx) {
-    if (deps == null || deps.isEmpty()) return deps;
-    Map<String, String> out = new HashMap<>(deps.size());
-    for (Map.Entry<String, String> e : deps.entrySet()) {
-        String k = e.getKey();
-        if (k != null && k.contains("*")) {
-            k = ASTERIK_PATTERN.matcher(k).replaceFirst(String.valueOf(idx));
+// Conversion through the field's precompiled TypeConverter. Values its fast paths do not take, and target types it
+// does not know, go to convertDataType with the field's own target pointer, so unusual formats and failures behave
+// exactly as before; only the common, unambiguous cases skip it.
+private JsonNode convertValue(JsonNode value, FieldMapping field) {
+    TypeConverter converter = TypeConverter.of(field);
+    if (converter == null) {
+        return convertDataType(value, field.getTargetDataType(), field.getTargetPointer());
+    }
+    JsonNode converted = converter.convert(value);
+    if (converted != null) {
+        if (TypeConverter.VERIFY) {
+            converter.verify(value, converted,
+                    convertDataType(value, field.getTargetDataType(), field.getTargetPointer()), field.getTargetPointer());
         }
-        out.put(k, e.getValue());
+        return converted;
     }
-    return out;
+    return convertDataType(value, field.getTargetDataType(), field.getTargetPointer());
 }
 
-// local-only: validate deps against mappingConfig.dependentValues
-private boolean dependenciesMatchLocal(Map<String, String> deps, MappingConfig config) {
-    if (deps == null || deps.isEmpty()) return true;
-    Map<String, String> actual = config.getDependentValues();
-    if (actual == null) return false;
-    for (Map.Entry<String, String> e : deps.entrySet()) {
-        String expect = e.getValue();
-        String got    = actual.get(e.getKey());
-        if (!Objects.equals(expect, got)) return false;
-    }
-    return true;
-}
+// Streaming entry — wires StreamingTransformer to this engine. Mappings it can plan are transformed token to token;
+// the rest (and non-object sources) go through treeEngine, the existing tree transform, unchanged. Leaf values get
+// operation handling and conversion, custom transformer results conversion only, as in the tree workers. Nothing
+// calls this yet: the engine's transform entry has to build one with itself as treeEngine and keep it.
+private StreamingTransformer newStreamingTransformer(java.util.function.BiFunction<JsonNode, MappingConfig, JsonNode> treeEngine) {
+    return new StreamingTransformer(new StreamingTransformer.Engine() {
+        @Override
+        public ObjectMapper mapper() {
+            return objectMapper;
+        }
+
+        @Override
+        public JsonNode transformTree(JsonNode source, MappingConfig config) {
+            return treeEngine.apply(source, config);
+        }
+
+        @Override
+        public JsonNode postProcess(JsonNode value, FieldMapping field) {
+            if (field.getOperationType() != null) {
+                value = customOperationHandling(value, field);
+            }
+            return convert(value, field);
+        }
 
+        @Override
+        public JsonNode convert(JsonNode value, FieldMapping field) {
+            if (!io.micrometer.common.util.StringUtils.isBlank(field.getTargetDataType())) {
+                value = convertValue(value, field);
+            }
+            return value;
+        }
 
+        @Override
+        public TransformerHandles.Handle transformer(String beanName) {
+            return transformerHandles.handle(beanName);
+        }
+    });
+}
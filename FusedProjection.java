@@ -0,0 +1,295 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Array-projection fields of one mapping, grouped by their shared wildcard prefix.
+ * Fields such as <code>/data/*&#47;a</code> and <code>/data/*&#47;b</code> (writing under the same target array) form one
+ * {@link Group}, so the engine visits every element of {@code /data} once and applies all of the group's fields to
+ * it; deeper wildcards (<code>/data/*&#47;childAccounts/*&#47;...</code>) become child groups visited from each element.
+ * Compile once per {@link MappingConfig} ({@link #of} caches it per config instance); instances are immutable and
+ * shared across requests.
+ */
+public final class FusedProjection {
+
+    private static final IdentityCache<MappingConfig, FusedProjection> CACHE = new IdentityCache<>();
+
+    private final List<Group> groups;
+    private final List<FieldMapping> unfused;
+    private final int depth;
+
+    private FusedProjection(List<Group> groups, List<FieldMapping> unfused, int depth) {
+        this.groups = groups;
+        this.unfused = unfused;
+        this.depth = depth;
+    }
+
+    /**
+     * Groups the given array-projection fields. Fields whose pointers start at a root array (<code>/*...</code>) or have
+     * no wildcard are returned by {@link #unfused()} and keep the per-field path.
+     */
+    public static FusedProjection compile(Collection<FieldMapping> fields) {
+        Map<String, Group> roots = new LinkedHashMap<>();
+        List<FieldMapping> unfused = new ArrayList<>();
+        int depth = 0;
+
+        for (FieldMapping field : fields) {
+            if (field.getSourcePointer() == null || field.getTargetPointer() == null) {
+                unfused.add(field);
+                continue;
+            }
+            ProjectionPlan plan = ProjectionPlan.of(field);
+            if (plan.depth() == 0 || plan.source().startsWithWildcard() || plan.target().startsWithWildcard()) {
+                unfused.add(field);
+                continue;
+            }
+
+            Group group = null;
+            for (int level = 0; level < plan.depth(); level++) {
+                Map<String, Group> siblings = group == null ? roots : group.childrenByKey;
+                int sourceFrom = level == 0 ? 0 : plan.source().wildcardToken(level - 1) + 1;
+                int targetFrom = level == 0 ? 0 : plan.target().wildcardToken(level - 1) + 1;
+                int sourceStar = plan.source().wildcardToken(level);
+                int targetStar = plan.target().wildcardToken(level);
+
+                String key = plan.source().segment(sourceFrom, sourceStar) + " -> " + plan.target().segment(targetFrom, targetStar);
+                final int lvl = level;
+                group = siblings.computeIfAbsent(key, k -> new Group(lvl, plan, sourceFrom, sourceStar, targetFrom, targetStar));
+            }
+            group.fields.add(field);
+            group.plans.add(plan);
+            group.dependencies.add(DependencyPredicate.of(field));
+            depth = Math.max(depth, plan.depth());
+        }
+
+        List<Group> groups = new ArrayList<>(roots.values());
+        groups.forEach(Group::freeze);
+        return new FusedProjection(Collections.unmodifiableList(groups), Collections.unmodifiableList(unfused), depth);
+    }
+
+    public static FusedProjection compile(MappingConfig config) {
+        return compile(config.getMappedFields() == null ? Collections.emptyList() : config.getMappedFields());
+    }
+
+    /**
+     * The config's {@link #handles array-projection fields}, compiled on first use and kept per config instance
+     * (by identity, held weakly); call at config load to keep that off the request path.
+     */
+    public static FusedProjection of(MappingConfig config) {
+        FusedProjection fused = CACHE.get(config);
+        if (fused == null) {
+            List<FieldMapping> fields = new ArrayList<>();
+            if (config.getMappedFields() != null) {
+                for (FieldMapping field : config.getMappedFields()) {
+                    if (handles(field)) fields.add(field);
+                }
+            }
+            fused = CACHE.putIfAbsent(config, compile(fields));
+        }
+        return fused;
+    }
+
+    /**
+     * Whether {@link #of} takes the field: a wildcard in either pointer and no custom transformer (those keep their
+     * own array path). The field loop skips these once the config's projection has been applied.
+     */
+    public static boolean handles(FieldMapping field) {
+        return field.getCustomTransformer() == null
+                && ((field.getSourcePointer() != null && field.getSourcePointer().contains("*"))
+                        || (field.getTargetPointer() != null && field.getTargetPointer().contains("*")));
+    }
+
+    public List<Group> groups() {
+        return groups;
+    }
+
+    /** Fields that must go through the per-field projection. */
+    public List<FieldMapping> unfused() {
+        return unfused;
+    }
+
+    /** Deepest wildcard nesting, i.e. the length of the bindings array. */
+    public int depth() {
+        return depth;
+    }
+
+    /** One source array (and its target array) at one wildcard level. */
+    public static final class Group {
+
+        private final int level;
+        private final PointerProgram source;
+        private final PointerProgram target;
+        private final int sourceFrom;
+        private final int sourceStar;
+        private final int targetFrom;
+        private final int targetStar;
+        private final List<FieldMapping> fields = new ArrayList<>();
+        private final List<ProjectionPlan> plans = new ArrayList<>();
+        private final List<DependencyPredicate> dependencies = new ArrayList<>();
+        private final Map<String, Group> childrenByKey = new LinkedHashMap<>();
+        private Group[] children;
+
+        private Group(int level, ProjectionPlan representative, int sourceFrom, int sourceStar, int targetFrom, int targetStar) {
+            this.level = level;
+            this.source = representative.source();
+            this.target = representative.target();
+            this.sourceFrom = sourceFrom;
+            this.sourceStar = sourceStar;
+            this.targetFrom = targetFrom;
+            this.targetStar = targetStar;
+        }
+
+        private void freeze() {
+            children = childrenByKey.values().toArray(new Group[0]);
+            for (Group child : children) child.freeze();
+        }
+
+        public int level() {
+            return level;
+        }
+
+        /** The source array of this level, read from the element of the enclosing level (or the source root). */
+        public JsonNode readArray(JsonNode scope, int[] bindings) {
+            return source.read(scope, sourceFrom, sourceStar, bindings);
+        }
+
+        /** Leaf value of field {@code f}, read from the current element of this level's array. */
+        public JsonNode readLeaf(int f, JsonNode element, int[] bindings) {
+            PointerProgram program = plans.get(f).source();
+            return program.read(element, sourceStar + 1, program.size(), bindings);
+        }
+
+        /** Target array of this (level-0) group under {@code targetRoot}, or {@code null} if it does not exist yet. */
+        public JsonNode readTargetArray(JsonNode targetRoot) {
+            return target.read(targetRoot, 0, targetStar, null);
+        }
+
+        /** Target array of this (level-0) group under {@code targetRoot}, created if missing. */
+        public JsonNode openTargetArray(JsonNode targetRoot, JsonNodeFactory factory) {
+            return target.container(targetRoot, 0, targetStar, null, factory);
+        }
+
+        /** Pointer text of the target array of this (level-0) group. */
+        public String targetArrayPath() {
+            return target.segment(0, targetStar);
+        }
+
+        /** Fields whose innermost wildcard is this level. */
+        public int fieldCount() {
+            return fields.size();
+        }
+
+        public FieldMapping field(int f) {
+            return fields.get(f);
+        }
+
+        /** Compiled dependencies of field {@code f}. */
+        public DependencyPredicate dependencies(int f) {
+            return dependencies.get(f);
+        }
+
+        public Group[] children() {
+            return children;
+        }
+    }
+
+    /**
+     * Target position of one level during execution: the target array and the current element are resolved on
+     * the first write and then reused for every field of the element, instead of walking from the root per value.
+     */
+    public static final class TargetCursor {
+
+        private final TargetCursor parent;
+        private final Group group;
+        private final int[] bindings;
+        private final JsonNodeFactory factory;
+        /** Subtracted from this level's binding for target positions; the source and dependencies see it unchanged. */
+        private final int offset;
+        private JsonNode array;
+        private JsonNode element;
+
+        private TargetCursor(TargetCursor parent, Group group, JsonNode root, int[] bindings, JsonNodeFactory factory,
+                             int offset) {
+            this.parent = parent;
+            this.group = group;
+            this.bindings = bindings;
+            this.factory = factory;
+            this.offset = offset;
+            this.element = root;
+        }
+
+        public static TargetCursor root(JsonNode targetRoot, int[] bindings, JsonNodeFactory factory) {
+            return new TargetCursor(null, null, targetRoot, bindings, factory, 0);
+        }
+
+        public TargetCursor child(Group group) {
+            return child(group, 0);
+        }
+
+        /** Child whose target array holds source element {@code offset} at position 0, e.g. one parallel chunk. */
+        public TargetCursor child(Group group, int offset) {
+            return new TargetCursor(this, group, null, bindings, factory, offset);
+        }
+
+        /** Moves to the next element; call after updating this level's binding. */
+        public void next() {
+            element = null;
+        }
+
+        /** Creates the target array even if no field ends up writing to it, as the per-field path does for nested arrays. */
+        public void open() {
+            array();
+        }
+
+        /** Writes the value of field {@code f} of this cursor's group for the current element. */
+        public void write(int f, JsonNode value) {
+            PointerProgram program = group.plans.get(f).target();
+            if (group.targetStar == program.size() - 1) {
+                // the wildcard is the last token: the value is the element itself
+                JsonNode target = array();
+                int absolute = shift();
+                try {
+                    program.writeFrom(target, group.targetStar, value, bindings, factory);
+                } finally {
+                    bindings[group.level] = absolute;
+                }
+            } else {
+                program.writeFrom(element(), group.targetStar + 1, value, bindings, factory);
+            }
+        }
+
+        // moves this level's binding to its target position and returns the source index to restore;
+        // bindings belong to one thread, and deeper tokens never read this level's binding
+        private int shift() {
+            int absolute = bindings[group.level];
+            bindings[group.level] = absolute - offset;
+            return absolute;
+        }
+
+        private JsonNode array() {
+            if (array == null) {
+                array = group.target.container(parent.element(), group.targetFrom, group.targetStar, bindings, factory);
+            }
+            return array;
+        }
+
+        private JsonNode element() {
+            if (element == null) {
+                JsonNode target = array();
+                int absolute = shift();
+                try {
+                    element = group.target.container(target, group.targetStar, group.targetStar + 1, bindings, factory);
+                } finally {
+                    bindings[group.level] = absolute;
+                }
+            }
+            return element;
+        }
+    }
+}
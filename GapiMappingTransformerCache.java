@@ -0,0 +1,265 @@
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Parsed, typed and compiled rows of {@code gapi_mapping_transformers}, served from an immutable snapshot.
+ * <p>
+ * The table is loaded once at startup. After that, a background thread compares each row's version (the latest of
+ * {@code updated_time}, {@code modified_time} and {@code approved_time}) with the snapshot every
+ * {@code transformer.cache.refresh-interval}. Changed rows are re-read, and a row whose {@code mapping_json} checksum
+ * did not change keeps its entry, so nothing is republished. Rows with none of the timestamps set can only be compared
+ * by checksum; they are re-read every {@code transformer.cache.unversioned-recheck-interval} instead. A new snapshot
+ * replaces the old one in a single volatile write, so request threads never block, query or parse. A row that fails
+ * to parse keeps its previous entry and is retried on the next refresh.
+ * <p>
+ * Typed values are described by {@link View}s. A view is materialized once per entry, the first time it is asked for,
+ * and again for every later snapshot during the refresh. The returned objects are shared and must not be mutated.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "transformer",
+                      name = "account-status-loading-source",
+                      havingValue = "database")
+public class GapiMappingTransformerCache {
+
+    private final GapiMappingTransformerRepository repo;
+    private final ObjectMapper objectMapper;
+    private final Properties properties;
+
+    /** Views asked for so far; refreshed entries materialize them up front. */
+    private final Set<View<?>> views = ConcurrentHashMap.newKeySet();
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), 0);
+    private ScheduledExecutorService refresher;
+    private long unversionedCheckedAt = System.nanoTime();
+
+    public GapiMappingTransformerCache(GapiMappingTransformerRepository repo, ObjectMapper objectMapper,
+                                       Properties properties) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() {
+        refresh();
+        long interval = properties.getRefreshInterval().toMillis();
+        if (interval <= 0) return;
+
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gapi-mapping-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Refreshing gapi_mapping_transformers failed, keeping snapshot {}", snapshot.generation, e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) refresher.shutdownNow();
+    }
+
+    /** The view's value for the current snapshot; throws {@link TransformationException} if the mapping is missing. */
+    public <T> T get(View<T> view) {
+        Entry entry = snapshot.entries.get(view.mappingId);
+        if (entry == null) {
+            throw new TransformationException("Mapping not found");
+        }
+        T value = entry.value(view, objectMapper);
+        views.add(view);
+        return value;
+    }
+
+    /** Parsed {@code mapping_json} of a row, or {@code null} if there is no such row. */
+    public JsonNode getJson(String mappingId) {
+        Entry entry = snapshot.entries.get(mappingId);
+        return entry == null ? null : entry.root;
+    }
+
+    /** Increases with every snapshot that changed something. */
+    public long generation() {
+        return snapshot.generation;
+    }
+
+    /** Brings the snapshot up to date with the table; runs on the refresh thread (and once at startup). */
+    public synchronized void refresh() {
+        Snapshot current = snapshot;
+        List<GapiMappingVersion> versions = repo.findAllProjectedBy();
+
+        long now = System.nanoTime();
+        boolean recheckUnversioned = now - unversionedCheckedAt >= properties.getUnversionedRecheckInterval().toNanos();
+        if (recheckUnversioned) unversionedCheckedAt = now;
+
+        Map<String, Entry> next = new HashMap<>(versions.size() * 2);
+        boolean changed = versions.size() != current.entries.size();
+        for (GapiMappingVersion version : versions) {
+            String mappingId = version.getMappingId();
+            LocalDateTime stamp = latest(latest(version.getUpdatedTime(), version.getModifiedTime()),
+                    version.getApprovedTime());
+            Entry old = current.entries.get(mappingId);
+            // without a stamp only the checksum tells, so those rows are re-read on the slower recheck only
+            if (old != null && (stamp == null ? !recheckUnversioned : stamp.equals(old.version))) {
+                next.put(mappingId, old);
+                continue;
+            }
+
+            Entry loaded = load(mappingId, stamp, old);
+            if (loaded != null) {
+                next.put(mappingId, loaded);
+                changed |= loaded != old;
+            } else if (old != null) {
+                next.put(mappingId, old);
+            }
+        }
+
+        if (changed) {
+            snapshot = new Snapshot(Map.copyOf(next), current.generation + 1);
+            log.info("gapi_mapping_transformers snapshot {} loaded ({} mappings)", current.generation + 1, next.size());
+        }
+    }
+
+    private Entry load(String mappingId, LocalDateTime version, Entry old) {
+        GapiMappingTransformerEntity entity = repo.findByMappingId(mappingId).orElse(null);
+        if (entity == null) return null;
+
+        String checksum = checksum(entity.getMappingJson());
+        if (old != null && checksum.equals(old.checksum)) {
+            // touched but identical: keep the entry, so the snapshot does not change
+            old.version = version;
+            return old;
+        }
+
+        try {
+            Entry entry = new Entry(mappingId, version, checksum, objectMapper.readTree(entity.getMappingJson()));
+            for (View<?> view : views) {
+                if (view.mappingId.equals(mappingId)) entry.value(view, objectMapper);
+            }
+            return entry;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Mapping {} could not be loaded, keeping the previous version", mappingId, e);
+            return old;
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    private static String checksum(String json) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Snapshot(Map<String, Entry> entries, long generation) {
+    }
+
+    private static final class Entry {
+
+        final String mappingId;
+        final String checksum;
+        final JsonNode root;
+        final Map<View<?>, Object> values = new ConcurrentHashMap<>();
+        /** Only read and written by {@link #refresh()}, under its lock. */
+        LocalDateTime version;
+
+        Entry(String mappingId, LocalDateTime version, String checksum, JsonNode root) {
+            this.mappingId = mappingId;
+            this.version = version;
+            this.checksum = checksum;
+            this.root = root;
+        }
+
+        <T> T value(View<T> view, ObjectMapper objectMapper) {
+            Object value = values.get(view);
+            if (value == null) {
+                value = values.computeIfAbsent(view, v -> view.materialize(root, objectMapper));
+            }
+            return view.type.cast(value);
+        }
+    }
+
+    /**
+     * A typed value of one mapping: the node under {@code field} (the whole document when {@code null}) read as
+     * {@code type}, then passed through {@code compiler} (e.g. to precompile a MappingConfig).
+     * Declare views as constants; they are compared by identity.
+     */
+    public static final class View<T> {
+
+        private final String mappingId;
+        private final String field;
+        private final Class<T> type;
+        private final UnaryOperator<T> compiler;
+
+        private View(String mappingId, String field, Class<T> type, UnaryOperator<T> compiler) {
+            this.mappingId = Objects.requireNonNull(mappingId);
+            this.field = field;
+            this.type = Objects.requireNonNull(type);
+            this.compiler = compiler;
+        }
+
+        public static <T> View<T> of(String mappingId, String field, Class<T> type) {
+            return new View<>(mappingId, field, type, UnaryOperator.identity());
+        }
+
+        public static <T> View<T> of(String mappingId, String field, Class<T> type, UnaryOperator<T> compiler) {
+            return new View<>(mappingId, field, type, compiler);
+        }
+
+        private T materialize(JsonNode root, ObjectMapper objectMapper) {
+            JsonNode node = field == null ? root : root.get(field);
+            try {
+                return compiler.apply(objectMapper.treeToValue(node, type));
+            } catch (JsonProcessingException e) {
+                throw new TransformationException("Invalid mapping " + mappingId + ": " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    @Data
+    @Component
+    @ConfigurationProperties(prefix = "transformer.cache")
+    public static class Properties {
+
+        /** How often the table is checked for changed rows; zero or negative disables background refresh */
+        private Duration refreshInterval = Duration.ofSeconds(30);
+
+        /** How often rows without updated, modified or approved time are re-read and compared by checksum */
+        private Duration unversionedRecheckInterval = Duration.ofMinutes(10);
+    }
+}
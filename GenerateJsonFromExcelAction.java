@@ -1,25 +1,51 @@
 package com.dbs.plugin.action;
 
 import com.dbs.plugin.model.ApiMapping;
+import com.dbs.plugin.service.CountryFilter;
+import com.dbs.plugin.service.IncrementalJsonWriter;
 import com.dbs.plugin.service.MainframeRequestJsonService;
 import com.dbs.plugin.service.MainframeResponseJsonService;
+import com.dbs.plugin.service.MappingRow;
+import com.dbs.plugin.service.MappingSheetScanner;
 import com.dbs.plugin.service.SunCbsRequestJsonService;
 import com.dbs.plugin.service.SunCbsResponseJsonService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.fileChooser.FileChooserDescriptor;
 import com.intellij.openapi.fileChooser.FileChooserFactory;
 import com.intellij.openapi.fileChooser.PathChooserDialog;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
+import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GenerateJsonFromExcelAction extends AnAction {
 
+    // Shared across runs; ObjectWriter is immutable and thread-safe
+    private static final ObjectWriter JSON_WRITER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writer();
+
+    // Countries to extract, e.g. -Dmapping.countries=SG,HK,IN,ID,TW; SG keeps the unsuffixed file names
+    private static final List<String> COUNTRIES = CountryFilter.normalize(
+            Arrays.asList(System.getProperty("mapping.countries", CountryFilter.DEFAULT_COUNTRY).split(",")));
+
     @Override
     public void actionPerformed(AnActionEvent e) {
         Project project = e.getProject();
@@ -51,45 +77,128 @@ public class GenerateJsonFromExcelAction extends AnAction {
                 }
 
                 File outputDir = new File(outputFiles.get(0).getPath());
-                try {
-                    ObjectMapper mapper = new ObjectMapper();
-                    mapper.enable(SerializationFeature.INDENT_OUTPUT);
-
-                    // ✅ Sun CBS Request
-                    SunCbsRequestJsonService sunCbsReqService = new SunCbsRequestJsonService();
-                    Map<String, ApiMapping> sunCbsReq = sunCbsReqService.extractSunCbsRequestMappings(excelFile);
-                    for (Map.Entry<String, ApiMapping> entry : sunCbsReq.entrySet()) {
-                        mapper.writeValue(new File(outputDir, entry.getKey()), entry.getValue());
-                    }
-
-                    // ✅ Mainframe Request
-                    MainframeRequestJsonService mainframeReqService = new MainframeRequestJsonService();
-                    Map<String, ApiMapping> mainframeReq = mainframeReqService.extractMainframeRequestMappings(excelFile);
-                    for (Map.Entry<String, ApiMapping> entry : mainframeReq.entrySet()) {
-                        mapper.writeValue(new File(outputDir, entry.getKey()), entry.getValue());
-                    }
-
-                    // ✅ Sun CBS Response
-                    SunCbsResponseJsonService sunCbsRespService = new SunCbsResponseJsonService();
-                    Map<String, ApiMapping> sunCbsResp = sunCbsRespService.extractSunCbsResponseMappings(excelFile);
-                    for (Map.Entry<String, ApiMapping> entry : sunCbsResp.entrySet()) {
-                        mapper.writeValue(new File(outputDir, entry.getKey()), entry.getValue());
-                    }
-
-                    // ✅ Mainframe Response
-                    MainframeResponseJsonService mainframeRespService = new MainframeResponseJsonService();
-                    Map<String, ApiMapping> mainframeResp = mainframeRespService.extractMainframeResponseMappings(excelFile);
-                    for (Map.Entry<String, ApiMapping> entry : mainframeResp.entrySet()) {
-                        mapper.writeValue(new File(outputDir, entry.getKey()), entry.getValue());
-                    }
-
-                    Messages.showInfoMessage("✅ JSONs generated successfully!\nSaved in: " + outputDir.getPath(), "Success");
-
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                    Messages.showErrorDialog("❌ Failed to generate JSONs: " + ex.getMessage(), "Error");
-                }
+                new GenerateTask(project, excelFile, outputDir).queue();
             });
         });
     }
-}
\ No newline at end of file
+
+    /** Extraction and writing run off the UI thread; discovery, streaming and extraction check for cancellation on every row. */
+    private static class GenerateTask extends Task.Backgroundable {
+
+        private final File excelFile;
+        private final File outputDir;
+        private int written;
+        private int total;
+
+        GenerateTask(Project project, File excelFile, File outputDir) {
+            super(project, "Generating transformer JSONs", true);
+            this.excelFile = excelFile;
+            this.outputDir = outputDir;
+        }
+
+        @Override
+        public void run(@NotNull ProgressIndicator indicator) {
+            try {
+                indicator.setIndeterminate(true);
+                indicator.setText("Reading " + excelFile.getName());
+
+                // ✅ One workbook pass feeds Sun CBS / Mainframe request and response mappings
+                // Large .xlsx workbooks are streamed row by row instead of loaded into the usermodel
+                Map<String, ApiMapping> mappings = MappingSheetScanner.scan(excelFile,
+                        MappingSheetScanner.ReadMode.forFile(excelFile),
+                        indicator::checkCanceled,
+                        new CancellableListener(new SunCbsRequestJsonService(COUNTRIES).newListener(), indicator),
+                        new CancellableListener(new MainframeRequestJsonService(COUNTRIES).newListener(), indicator),
+                        new CancellableListener(new SunCbsResponseJsonService(COUNTRIES).newListener(), indicator),
+                        new CancellableListener(new MainframeResponseJsonService(COUNTRIES).newListener(), indicator));
+
+                indicator.setIndeterminate(false);
+                indicator.setText("Writing " + mappings.size() + " files to " + outputDir.getPath());
+
+                // Only sections whose content hash changed since the last run are rewritten
+                IncrementalJsonWriter writer = IncrementalJsonWriter.open(outputDir, JSON_WRITER);
+                AtomicInteger updated = new AtomicInteger();
+                List<ForkJoinTask<?>> writes = new ArrayList<>(mappings.size());
+                for (Map.Entry<String, ApiMapping> entry : mappings.entrySet()) {
+                    writes.add(ForkJoinPool.commonPool().submit(() -> {
+                        indicator.checkCanceled();
+                        try {
+                            if (writer.write(entry.getKey(), entry.getValue())) updated.incrementAndGet();
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    }));
+                }
+                for (int i = 0; i < writes.size(); i++) {
+                    writes.get(i).join();
+                    indicator.setFraction((i + 1) / (double) writes.size());
+                }
+                writer.commit();
+
+                this.written = updated.get();
+                this.total = mappings.size();
+            } catch (ProcessCanceledException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+
+        @Override
+        public void onSuccess() {
+            Messages.showInfoMessage("✅ JSONs generated successfully!\nSaved in: " + outputDir.getPath()
+                    + "\nUpdated " + written + " of " + total + " files", "Success");
+        }
+
+        @Override
+        public void onThrowable(@NotNull Throwable error) {
+            Throwable cause = error instanceof RuntimeException && error.getCause() != null ? error.getCause() : error;
+            cause.printStackTrace();
+            Messages.showErrorDialog("❌ Failed to generate JSONs: " + cause.getMessage(), "Error");
+        }
+    }
+
+    private static class CancellableListener implements MappingSheetScanner.SectionListener {
+
+        private final MappingSheetScanner.SectionListener delegate;
+        private final ProgressIndicator indicator;
+
+        CancellableListener(MappingSheetScanner.SectionListener delegate, ProgressIndicator indicator) {
+            this.delegate = delegate;
+            this.indicator = indicator;
+        }
+
+        @Override
+        public MappingSheetScanner.Section getSection() {
+            return delegate.getSection();
+        }
+
+        @Override
+        public boolean usesMergedHeaders() {
+            return delegate.usesMergedHeaders();
+        }
+
+        @Override
+        public void onHeader(String sectionHeader, Map<String, Integer> columnMap) {
+            indicator.checkCanceled();
+            indicator.setText2(sectionHeader);
+            delegate.onHeader(sectionHeader, columnMap);
+        }
+
+        @Override
+        public void onRow(MappingRow row) {
+            indicator.checkCanceled();
+            delegate.onRow(row);
+        }
+
+        @Override
+        public Map<String, ApiMapping> getResult() {
+            return delegate.getResult();
+        }
+
+        @Override
+        public MappingSheetScanner.SectionListener fork() {
+            return new CancellableListener(delegate.fork(), indicator);
+        }
+    }
+}
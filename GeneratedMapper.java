@@ -0,0 +1,27 @@
+package com.dbs.plugin.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A mapper class generated from an {@code ApiMapping} by {@link MapperCodeGenerator}.
+ * Generated classes depend only on Jackson and this interface.
+ */
+public interface GeneratedMapper {
+
+    /** What the generated code leaves to the engine, so values come out exactly as the interpretive engine makes them. */
+    interface Hooks {
+
+        /** Applies the operation of field {@code fieldIndex} (its position in {@code ApiMapping.fields}). */
+        JsonNode operation(int fieldIndex, JsonNode value);
+
+        /** Converts {@code value} to the target data type of field {@code fieldIndex}. */
+        JsonNode convert(int fieldIndex, JsonNode value);
+    }
+
+    /** {@code ApiMapping.name} of the mapping this class was generated from. */
+    String mappingName();
+
+    /** Writes the mapped values of {@code source} (an object) into {@code target}. */
+    void map(JsonNode source, ObjectNode target, Hooks hooks);
+}
@@ -0,0 +1,75 @@
+import java.lang.ref.WeakReference;
+
+/**
+ * Open-addressing map from a key instance to what was compiled for it, compared by identity and referenced weakly,
+ * so entries of a reloaded {@link MappingConfig} (or of its fields) go with it. The value must not reference its key,
+ * or the key is never collected.
+ * Reads see an immutable table through a volatile field and allocate nothing; writes copy it under the lock.
+ */
+public final class IdentityCache<K, V> {
+
+    private volatile Object[] table; // key ref at 2i, value at 2i + 1
+
+    public IdentityCache() {
+        this(16);
+    }
+
+    /** {@code slots} is the initial capacity, a power of two; use a small one for caches that hold a config or two. */
+    public IdentityCache(int slots) {
+        table = new Object[slots * 2];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Object[] tab = table;
+        int slots = tab.length / 2;
+        for (int i = System.identityHashCode(key) & (slots - 1), n = 0; n < slots; i = (i + 1) & (slots - 1), n++) {
+            Object ref = tab[2 * i];
+            if (ref == null) return null;
+            if (((WeakReference<?>) ref).get() == key) return (V) tab[2 * i + 1];
+        }
+        return null;
+    }
+
+    /** Stores {@code value} unless {@code key} already has one; returns the value that is now cached. */
+    public synchronized V putIfAbsent(K key, V value) {
+        V existing = get(key);
+        if (existing != null) return existing;
+        store(key, value);
+        return value;
+    }
+
+    /** Stores {@code value} for {@code key}, replacing what was cached for it. */
+    public synchronized void put(K key, V value) {
+        store(key, value);
+    }
+
+    private void store(K key, V value) {
+        // rebuild without cleared entries, doubling when more than half full
+        Object[] old = table;
+        int live = 1;
+        for (int i = 0; i < old.length; i += 2) {
+            Object k = old[i] == null ? null : ((WeakReference<?>) old[i]).get();
+            if (k != null && k != key) live++;
+        }
+        int slots = old.length / 2;
+        while (live * 2 > slots) slots *= 2;
+
+        Object[] tab = new Object[slots * 2];
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] == null) continue;
+            Object k = ((WeakReference<?>) old[i]).get();
+            if (k != null && k != key) insert(tab, k, old[i], old[i + 1]);
+        }
+        insert(tab, key, new WeakReference<>(key), value);
+        table = tab;
+    }
+
+    private static void insert(Object[] tab, Object key, Object ref, Object value) {
+        int slots = tab.length / 2;
+        int i = System.identityHashCode(key) & (slots - 1);
+        while (tab[2 * i] != null) i = (i + 1) & (slots - 1);
+        tab[2 * i] = ref;
+        tab[2 * i + 1] = value;
+    }
+}
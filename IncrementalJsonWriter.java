@@ -0,0 +1,143 @@
+package com.dbs.plugin.service;
+
+import com.dbs.plugin.model.ApiField;
+import com.dbs.plugin.model.ApiMapping;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes transformer JSON files into an output directory, skipping sections whose content has not changed.
+ * Each file is keyed by a SHA-256 over the section's extracted rows and {@link #GENERATOR_VERSION}; the hashes are
+ * kept in {@value #CACHE_FILE} next to the generated files. Changed files are written to a temp file and renamed
+ * into place, so an interrupted run never leaves a half-written transformer behind.
+ * {@link #write} may be called from several threads; call {@link #commit} once all writes are done.
+ * <p>
+ * Only the file writes are skipped: the hash is taken from the extracted mapping, so the workbook is still opened,
+ * scanned and extracted in full on every run, and that dominates the run time for large workbooks.
+ */
+public final class IncrementalJsonWriter {
+
+    /** Bump whenever the generated JSON changes for identical input, so every cached entry is invalidated. */
+    public static final String GENERATOR_VERSION = "1";
+
+    static final String CACHE_FILE = ".transformer-json.cache";
+
+    private final Path outputDir;
+    private final ObjectWriter writer;
+    private final Properties previous;
+    private final Map<String, String> current = new ConcurrentHashMap<>();
+
+    private IncrementalJsonWriter(Path outputDir, ObjectWriter writer, Properties previous) {
+        this.outputDir = outputDir;
+        this.writer = writer;
+        this.previous = previous;
+    }
+
+    public static IncrementalJsonWriter open(File outputDir, ObjectWriter writer) throws IOException {
+        Path dir = outputDir.toPath();
+        Properties previous = new Properties();
+        Path cacheFile = dir.resolve(CACHE_FILE);
+        if (Files.isRegularFile(cacheFile)) {
+            try (Reader in = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+                previous.load(in);
+            } catch (IllegalArgumentException e) {
+                // Corrupt cache: regenerate everything
+                previous.clear();
+            }
+        }
+        return new IncrementalJsonWriter(dir, writer, previous);
+    }
+
+    /** Writes the mapping unless an identical one was generated last time; returns {@code true} if the file was written. */
+    public boolean write(String fileName, ApiMapping mapping) throws IOException {
+        String hash = hash(mapping);
+        current.put(fileName, hash);
+
+        Path target = outputDir.resolve(fileName);
+        if (hash.equals(previous.getProperty(fileName)) && Files.isRegularFile(target)) {
+            return false;
+        }
+
+        Path temp = Files.createTempFile(outputDir, fileName, ".tmp");
+        try {
+            writer.writeValue(temp.toFile(), mapping);
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+
+    /** Persists the hashes of this run; entries for files no longer generated are dropped. */
+    public void commit() throws IOException {
+        Properties cache = new Properties();
+        cache.putAll(current);
+
+        Path temp = Files.createTempFile(outputDir, CACHE_FILE, ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                cache.store(out, "Transformer JSON content hashes, generator version " + GENERATOR_VERSION);
+            }
+            moveIntoPlace(temp, outputDir.resolve(CACHE_FILE));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static String hash(ApiMapping mapping) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+
+        update(digest, GENERATOR_VERSION);
+        update(digest, mapping.getName());
+        update(digest, mapping.getApiType());
+        update(digest, mapping.getSource());
+        update(digest, mapping.getTarget());
+        List<ApiField> fields = mapping.getFields();
+        if (fields != null) {
+            for (ApiField field : fields) {
+                update(digest, field.getSource());
+                update(digest, field.getSourceDataType());
+                update(digest, field.getTarget());
+                update(digest, field.getTargetDataType());
+                update(digest, field.getOperationType());
+                update(digest, field.getCustomData());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /** Length-prefixed so that adjacent values cannot run together; {@code null} hashes differently from "". */
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+}
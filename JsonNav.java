@@ -1,55 +1,57 @@
 package com.dbs.plugin;
 
-import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.MissingNode;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
 public final class JsonNav {
 
+    /** Compiled paths kept for ad-hoc strings; the cache is dropped and refilled when it grows past this. */
+    private static final int CACHE_LIMIT = 1024;
+
+    private static final Map<String, Path> CACHE = new ConcurrentHashMap<>();
+
     /** Resolve a value from root using either JSON Pointer (/a/b/0) or dot/bracket (a.b[0].c). */
     public static JsonNode resolve(JsonNode root, String path) {
-        if (root == null || path == null || path.isEmpty()) return MissingNode.getInstance();
-
-        // 1) JSON Pointer (RFC 6901)
-        if (path.startsWith("/")) {
-            // If any key literally contains '/' or '~', it must be escaped as ~1 and ~0 respectively.
-            return root.at(JsonPointer.compile(path));
-        }
-
-        // 2) Dot/bracket notation
-        JsonNode cur = root;
-        for (String token : path.split("\\.")) {
-            if (cur.isMissingNode() || cur.isNull()) return MissingNode.getInstance();
-            if (token.isEmpty()) continue;
-
-            // handle repeated [idx] parts: e.g. "items[2][1]"
-            int firstBracket = token.indexOf('[');
-            if (firstBracket < 0) {
-                // simple field
-                cur = cur.path(unescapeDot(token));
-                continue;
-            }
+        return compile(path).resolve(root);
+    }
 
-            // base field then indexes
-            String base = token.substring(0, firstBracket);
-            if (!base.isEmpty()) cur = cur.path(unescapeDot(base));
-
-            int i = firstBracket;
-            while (i >= 0 && !cur.isMissingNode()) {
-                int close = token.indexOf(']', i);
-                if (close < 0) return MissingNode.getInstance(); // malformed
-                String idxStr = token.substring(i + 1, close).trim();
-                int idx;
-                try {
-                    idx = Integer.parseInt(idxStr);
-                } catch (NumberFormatException e) {
-                    return MissingNode.getInstance();
-                }
-                cur = (cur.isArray() && idx >= 0 && idx < cur.size()) ? cur.path(idx) : MissingNode.getInstance();
-                i = token.indexOf('[', close + 1);
-            }
+    /**
+     * The path parsed once into steps; resolves exactly like {@link #resolve(JsonNode, String)}.
+     * Immutable and thread-safe. Hold on to it where the path is fixed; ad-hoc strings go through a bounded cache.
+     */
+    public static Path compile(String path) {
+        if (path == null) return Path.NEVER;
+        Path compiled = CACHE.get(path);
+        if (compiled == null) {
+            compiled = Path.parse(path);
+            if (CACHE.size() >= CACHE_LIMIT) CACHE.clear();
+            CACHE.put(path, compiled);
         }
-        return cur == null ? MissingNode.getInstance() : cur;
+        return compiled;
+    }
+
+    /** Values of all {@code paths} under {@code root}, in argument order; see {@link PathSet}. */
+    public static JsonNode[] resolveAll(JsonNode root, String... paths) {
+        return compileAll(paths).resolve(root);
+    }
+
+    public static JsonNode[] resolveAll(JsonNode root, Path... paths) {
+        return new PathSet(paths).resolve(root);
+    }
+
+    /** The paths compiled as one {@link PathSet}; keep it when the same paths are resolved repeatedly. */
+    public static PathSet compileAll(String... paths) {
+        Path[] compiled = new Path[paths.length];
+        for (int i = 0; i < paths.length; i++) compiled[i] = compile(paths[i]);
+        return new PathSet(compiled);
     }
 
     /** Convenience: get text or null if missing/null. */
@@ -63,6 +65,249 @@ public final class JsonNav {
         return s.replace("\\.", ".");
     }
 
+    /**
+     * A path as steps. JSON Pointer tokens follow {@link JsonNode#at}: a property of an object, a canonical index of
+     * an array, nothing for anything else. Dot/bracket tokens first check that the current node is neither missing nor
+     * null, then take the field with {@link JsonNode#path(String)} and each {@code [idx]} within the array's bounds.
+     * A malformed bracket never matches anything.
+     */
+    public static final class Path {
+
+        private static final byte GUARD = 0;
+        private static final byte FIELD = 1;
+        private static final byte INDEX = 2;
+        private static final byte POINTER = 3;
+
+        static final Path NEVER = new Path("", new byte[0], new String[0], new int[0], true);
+
+        private final String text;
+        private final byte[] kinds;
+        private final String[] names;
+        private final int[] indexes;
+        private final boolean never;
+
+        private Path(String text, byte[] kinds, String[] names, int[] indexes, boolean never) {
+            this.text = text;
+            this.kinds = kinds;
+            this.names = names;
+            this.indexes = indexes;
+            this.never = never;
+        }
+
+        public JsonNode resolve(JsonNode root) {
+            if (root == null || never) return MissingNode.getInstance();
+            JsonNode cur = root;
+            for (int s = 0; s < kinds.length; s++) cur = step(s, cur);
+            return cur;
+        }
+
+        public int size() {
+            return kinds.length;
+        }
+
+        JsonNode step(int s, JsonNode cur) {
+            return switch (kinds[s]) {
+                case GUARD -> cur.isMissingNode() || cur.isNull() ? MissingNode.getInstance() : cur;
+                case FIELD -> cur.path(names[s]);
+                case INDEX -> {
+                    int idx = indexes[s];
+                    yield (cur.isArray() && idx >= 0 && idx < cur.size()) ? cur.path(idx) : MissingNode.getInstance();
+                }
+                default -> {
+                    JsonNode next = cur.isObject() ? cur.get(names[s])
+                            : cur.isArray() && indexes[s] >= 0 ? cur.get(indexes[s])
+                            : null;
+                    yield next == null ? MissingNode.getInstance() : next;
+                }
+            };
+        }
+
+        boolean sameStep(int s, Path other, int o) {
+            return kinds[s] == other.kinds[o] && indexes[s] == other.indexes[o]
+                    && Objects.equals(names[s], other.names[o]);
+        }
+
+        int compareStep(int s, Path other, int o) {
+            if (kinds[s] != other.kinds[o]) return Byte.compare(kinds[s], other.kinds[o]);
+            if (indexes[s] != other.indexes[o]) return Integer.compare(indexes[s], other.indexes[o]);
+            String a = names[s] == null ? "" : names[s];
+            String b = other.names[o] == null ? "" : other.names[o];
+            return a.compareTo(b);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+
+        static Path parse(String path) {
+            if (path.isEmpty()) return NEVER;
+            Builder b = new Builder();
+            if (path.startsWith("/")) {
+                for (String token : path.substring(1).split("/", -1)) {
+                    b.add(POINTER, unescapePointer(token), pointerIndex(token));
+                }
+                return b.build(path, false);
+            }
+
+            for (String token : path.split("\\.")) {
+                b.add(GUARD, null, -1);
+                if (token.isEmpty()) continue;
+
+                int firstBracket = token.indexOf('[');
+                if (firstBracket < 0) {
+                    b.add(FIELD, unescapeDot(token), -1);
+                    continue;
+                }
+                String base = token.substring(0, firstBracket);
+                if (!base.isEmpty()) b.add(FIELD, unescapeDot(base), -1);
+
+                int i = firstBracket;
+                while (i >= 0) {
+                    int close = token.indexOf(']', i);
+                    if (close < 0) return b.build(path, true); // malformed
+                    try {
+                        b.add(INDEX, null, Integer.parseInt(token.substring(i + 1, close).trim()));
+                    } catch (NumberFormatException e) {
+                        return b.build(path, true);
+                    }
+                    i = token.indexOf('[', close + 1);
+                }
+            }
+            return b.build(path, false);
+        }
+
+        // as JsonPointer: ~0 is '~', ~1 is '/', any other '~' stays
+        private static String unescapePointer(String token) {
+            if (token.indexOf('~') < 0) return token;
+            StringBuilder sb = new StringBuilder(token.length());
+            for (int i = 0; i < token.length(); i++) {
+                char c = token.charAt(i);
+                if (c == '~' && i + 1 < token.length()) {
+                    char n = token.charAt(++i);
+                    if (n == '0') sb.append('~');
+                    else if (n == '1') sb.append('/');
+                    else sb.append('~').append(n);
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+
+        // as JsonPointer.getMatchingIndex: canonical non-negative int, else -1
+        private static int pointerIndex(String token) {
+            int len = token.length();
+            if (len == 0 || len > 10) return -1;
+            char c = token.charAt(0);
+            if (c <= '0') return (len == 1 && c == '0') ? 0 : -1;
+            for (int i = 0; i < len; i++) {
+                char d = token.charAt(i);
+                if (d < '0' || d > '9') return -1;
+            }
+            long value = Long.parseLong(token);
+            return value > Integer.MAX_VALUE ? -1 : (int) value;
+        }
+
+        private static final class Builder {
+            private final List<Byte> kinds = new ArrayList<>();
+            private final List<String> names = new ArrayList<>();
+            private final List<Integer> indexes = new ArrayList<>();
+
+            void add(byte kind, String name, int index) {
+                kinds.add(kind);
+                names.add(name);
+                indexes.add(index);
+            }
+
+            Path build(String text, boolean never) {
+                byte[] k = new byte[kinds.size()];
+                int[] idx = new int[indexes.size()];
+                for (int i = 0; i < k.length; i++) {
+                    k[i] = kinds.get(i);
+                    idx[i] = indexes.get(i);
+                }
+                return new Path(text, k, names.toArray(new String[0]), idx, never);
+            }
+        }
+    }
+
+    /**
+     * Several paths resolved in one pass: they are visited in step order, and each one starts from the deepest node it
+     * shares with the previous one, so a common prefix is walked once. Immutable and thread-safe.
+     */
+    public static final class PathSet {
+
+        private final Path[] paths;
+        /** Positions into {@code paths}, sorted by steps. */
+        private final int[] order;
+        /** Steps the path at {@code order[i]} shares with the one at {@code order[i - 1]}. */
+        private final int[] shared;
+        private final int maxSize;
+
+        private PathSet(Path[] paths) {
+            this.paths = paths.clone();
+            Integer[] sorted = new Integer[paths.length];
+            for (int i = 0; i < sorted.length; i++) sorted[i] = i;
+            Arrays.sort(sorted, Comparator.comparing((Integer i) -> this.paths[i], PathSet::compare));
+
+            this.order = new int[sorted.length];
+            this.shared = new int[sorted.length];
+            int max = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                order[i] = sorted[i];
+                Path path = this.paths[order[i]];
+                max = Math.max(max, path.size());
+                if (i > 0) shared[i] = commonPrefix(this.paths[order[i - 1]], path);
+            }
+            this.maxSize = max;
+        }
+
+        public int size() {
+            return paths.length;
+        }
+
+        /** Value of every path, in the order the paths were given. */
+        public JsonNode[] resolve(JsonNode root) {
+            JsonNode[] results = new JsonNode[paths.length];
+            // nodes[s] is the node after s steps of the previous path
+            JsonNode[] nodes = new JsonNode[maxSize + 1];
+            nodes[0] = root;
+            for (int i = 0; i < order.length; i++) {
+                Path path = paths[order[i]];
+                if (root == null || path.never) {
+                    results[order[i]] = MissingNode.getInstance();
+                    continue;
+                }
+                // shared is 0 after a path that never matches, so nodes[s] was always set by a walked path
+                int s = shared[i];
+                JsonNode cur = nodes[s];
+                for (; s < path.size(); s++) {
+                    cur = path.step(s, cur);
+                    nodes[s + 1] = cur;
+                }
+                results[order[i]] = cur;
+            }
+            return results;
+        }
+
+        private static int compare(Path a, Path b) {
+            int n = Math.min(a.size(), b.size());
+            for (int s = 0; s < n; s++) {
+                int c = a.compareStep(s, b, s);
+                if (c != 0) return c;
+            }
+            return Integer.compare(a.size(), b.size());
+        }
+
+        private static int commonPrefix(Path a, Path b) {
+            if (a.never || b.never) return 0;
+            int n = Math.min(a.size(), b.size());
+            int s = 0;
+            while (s < n && a.sameStep(s, b, s)) s++;
+            return s;
+        }
+    }
+
     private JsonNav() {}
 }
-
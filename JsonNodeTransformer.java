@@ -0,0 +1,11 @@
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Optional interface for {@link CustomTransformer} beans that build their result as a {@link JsonNode}.
+ * The engine then uses the node as is instead of converting the transformer's result with {@code valueToTree}.
+ */
+public interface JsonNodeTransformer {
+
+    /** Same contract as {@code CustomTransformer.transform}; {@code null} or a null node writes nothing. */
+    JsonNode transformNode(JsonNode source, FieldMapping field, MappingConfig config);
+}
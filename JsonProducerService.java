@@ -0,0 +1,14 @@
+package com.dbs.casa.plugin.service;
+
+import com.dbs.casa.plugin.model.ApiMapping;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.InputStream;
+import java.util.Map;
+
+public interface JsonProducerService {
+    Map<String, ApiMapping> extractMappings(InputStream inputStream) throws Exception;
+
+    /** Reads an already-open workbook, so several producers can share one parse of the upload. */
+    Map<String, ApiMapping> extractMappings(Workbook workbook);
+}
@@ -0,0 +1,44 @@
+package com.dbs.casa.plugin.controller;
+
+import com.dbs.casa.plugin.constants.TransformationSourceType;
+import com.dbs.casa.plugin.model.ApiMapping;
+import com.dbs.casa.plugin.service.JsonTransformationMediatorService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/json-generator")
+public class JsonTransformationController {
+
+    @Autowired
+    private JsonTransformationMediatorService mediatorService;
+
+    @PostMapping(value = "/generate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, ApiMapping>> generateJsonFromExcel(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "type", required = false) TransformationSourceType type) {
+        TransformationSourceType resolvedType = (type == null) ? TransformationSourceType.ALL : type;
+        Map<String, ApiMapping> result = mediatorService.transformAll(file, resolvedType);
+        return ResponseEntity.ok(result);
+    }
+
+    /** Same mappings as {@code /generate}, streamed to the client as a ZIP of transformer JSON files. */
+    @PostMapping(value = "/generate-zip", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = "application/zip")
+    public void generateJsonZipFromExcel(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "type", required = false) TransformationSourceType type,
+            HttpServletResponse response) throws IOException {
+        TransformationSourceType resolvedType = (type == null) ? TransformationSourceType.ALL : type;
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transformers.zip\"");
+        mediatorService.streamJsonZip(file, resolvedType, response.getOutputStream());
+    }
+}
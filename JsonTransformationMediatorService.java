@@ -0,0 +1,20 @@
+package com.dbs.casa.plugin.service;
+
+import com.dbs.casa.plugin.constants.TransformationSourceType;
+import com.dbs.casa.plugin.model.ApiMapping;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+public interface JsonTransformationMediatorService {
+    Map<String, ApiMapping> transformAll(MultipartFile file, TransformationSourceType type);
+    byte[] generateJsonZip(MultipartFile file, TransformationSourceType type);
+
+    /**
+     * Writes the ZIP straight to {@code out}, one entry per mapping as soon as it is extracted.
+     * Only the output is streamed: the upload is still parsed into a POI usermodel, so memory grows with the workbook.
+     */
+    void streamJsonZip(MultipartFile file, TransformationSourceType type, OutputStream out) throws IOException;
+}
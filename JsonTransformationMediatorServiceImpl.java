@@ -0,0 +1,109 @@
+package com.dbs.casa.plugin.service.impl;
+
+import com.dbs.casa.plugin.constants.TransformationSourceType;
+import com.dbs.casa.plugin.model.ApiMapping;
+import com.dbs.casa.plugin.service.*;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+public class JsonTransformationMediatorServiceImpl implements JsonTransformationMediatorService {
+
+    // Shared and thread-safe; entries are written into the open ZIP stream, so the writer must not close it
+    private static final ObjectWriter ZIP_ENTRY_WRITER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .writerWithDefaultPrettyPrinter()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    @Autowired
+    @Qualifier("sunCbsRequestJsonProducerService")
+    private SunCbsRequestJsonProducerService sunCbsRequestJsonProducerService;
+    @Autowired
+    @Qualifier("sunCbsResponseJsonProducerService")
+    private SunCbsResponseJsonProducerService sunCbsResponseJsonProducerService;
+    @Autowired
+    @Qualifier("mainframeRequestJsonProducerService")
+    private MainframeRequestJsonProducerService mainframeRequestJsonProducerService;
+    @Autowired
+    @Qualifier("mainframeResponseJsonProducerService")
+    private MainframeResponseJsonProducerService mainframeResponseJsonProducerService;
+
+    @Override
+    public Map<String, ApiMapping> transformAll(MultipartFile file, TransformationSourceType type) {
+        Map<String, ApiMapping> resultMap = new HashMap<>();
+
+        // The upload is parsed once and every producer reads the same workbook
+        try (InputStream in = file.getInputStream(); Workbook workbook = WorkbookFactory.create(in)) {
+            for (JsonProducerService producer : producersFor(type)) {
+                resultMap.putAll(producer.extractMappings(workbook));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(" Error reading or transforming Excel file", e);
+        }
+
+        return resultMap;
+    }
+
+    @Override
+    public byte[] generateJsonZip(MultipartFile file, TransformationSourceType type) {
+        try {
+            ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+            streamJsonZip(file, type, byteOut);
+            return byteOut.toByteArray();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate JSON ZIP", e);
+        }
+    }
+
+    @Override
+    public void streamJsonZip(MultipartFile file, TransformationSourceType type, OutputStream out) throws IOException {
+        // The whole workbook is loaded into the usermodel; only the mappings and the ZIP are bounded per entry
+        Workbook workbook;
+        try (InputStream in = file.getInputStream()) {
+            workbook = WorkbookFactory.create(in);
+        }
+
+        try (workbook; ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            // Only one producer's mappings are held at a time; each is serialized straight into its entry
+            for (JsonProducerService producer : producersFor(type)) {
+                for (Map.Entry<String, ApiMapping> entry : producer.extractMappings(workbook).entrySet()) {
+                    zipOut.putNextEntry(new ZipEntry(entry.getKey()));
+                    ZIP_ENTRY_WRITER.writeValue(zipOut, entry.getValue());
+                    zipOut.closeEntry();
+                }
+                zipOut.flush();
+            }
+
+            zipOut.finish(); // finalize the ZIP properly
+        }
+    }
+
+    private List<JsonProducerService> producersFor(TransformationSourceType type) {
+        TransformationSourceType resolvedType = (type == null) ? TransformationSourceType.ALL : type;
+
+        return switch (resolvedType) {
+            case SUN_CBS -> List.of(sunCbsRequestJsonProducerService, sunCbsResponseJsonProducerService);
+            case MAINFRAME -> List.of(mainframeRequestJsonProducerService, mainframeResponseJsonProducerService);
+            case ALL -> List.of(sunCbsRequestJsonProducerService, sunCbsResponseJsonProducerService,
+                    mainframeRequestJsonProducerService, mainframeResponseJsonProducerService);
+        };
+    }
+}
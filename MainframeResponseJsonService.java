@@ -4,166 +4,142 @@ package com.dbs.plugin.service;
 import com.dbs.plugin.constants.ExcelHeaderConstants;
 import com.dbs.plugin.model.ApiField;
 import com.dbs.plugin.model.ApiMapping;
-import org.apache.poi.ss.usermodel.*;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.util.*;
 
 public class MainframeResponseJsonService {
 
+    // Header names each data row needs, compiled into a column plan once per section header
+    private static final String[] COLUMNS = {
+            ExcelHeaderConstants.MAINFRAME_FIELDNAME,
+            ExcelHeaderConstants.MAINFRAME_DATATYPE,
+            ExcelHeaderConstants.GLOBAL_API_FIELDNAME,
+            ExcelHeaderConstants.GLOBAL_API_DATATYPE,
+            ExcelHeaderConstants.MAINFRAME_OPERATION,
+            ExcelHeaderConstants.MAINFRAME_TRANSFORM_VALUE
+    };
+    private static final int SOURCE = 0, SOURCE_TYPE = 1, TARGET = 2, TARGET_TYPE = 3, OPERATION = 4, TRANSFORM = 5;
+    private static final String[] NORMALIZED_COLUMNS = Arrays.stream(COLUMNS)
+            .map(MainframeResponseJsonService::normalizeHeader)
+            .toArray(String[]::new);
+
+    private final List<String> countries;
+
+    public MainframeResponseJsonService() {
+        this(CountryFilter.DEFAULT_COUNTRIES);
+    }
+
+    /** Extracts one mapping per section and country; mappings for countries other than SG get a country suffix. */
+    public MainframeResponseJsonService(Collection<String> countries) {
+        this.countries = CountryFilter.normalize(countries);
+    }
+
     public Map<String, ApiMapping> extractMainframeResponseMappings(File excelFile) throws Exception {
-        Map<String, ApiMapping> result = new LinkedHashMap<>();
+        return extractMainframeResponseMappings(excelFile, MappingSheetScanner.ReadMode.DOM);
+    }
 
-        try (Workbook workbook = WorkbookFactory.create(new FileInputStream(excelFile))) {
-            Sheet sheet = workbook.getSheet(ExcelHeaderConstants.SHEET_NAME);
-            if (sheet == null) return result;
+    public Map<String, ApiMapping> extractMainframeResponseMappings(File excelFile, MappingSheetScanner.ReadMode mode) throws Exception {
+        return MappingSheetScanner.scan(excelFile, mode, newListener());
+    }
 
-            int headerRowIndex = findResponseHeaderRow(sheet);
-            if (headerRowIndex == -1) {
-                System.out.println("⚠️ Could not find response header row.");
-                return result;
-            }
+    /** Listener for a shared {@link MappingSheetScanner} pass; collects one mapping per section and country. */
+    public MappingSheetScanner.SectionListener newListener() {
+        return new ResponseListener();
+    }
 
-            String sectionHeader = findMainHeaderBefore(sheet, headerRowIndex);
-            if (sectionHeader == null) {
-                System.out.println("⚠️ Could not find section header before response header row.");
-                return result;
-            }
+    private class ResponseListener implements MappingSheetScanner.SectionListener {
+
+        private final Map<String, ApiMapping> result = new LinkedHashMap<>();
+        private int[] columns;
+        private CountryFilter countryFilter;
+        private List<ApiField>[] fieldsByCountry;
+
+        @Override
+        public MappingSheetScanner.Section getSection() {
+            return MappingSheetScanner.Section.RESPONSE;
+        }
 
+        @Override
+        public void onHeader(String sectionHeader, Map<String, Integer> columnMap) {
             String baseName = sectionHeader.replace(ExcelHeaderConstants.RESPONSE_MARKER, "")
                                            .replace(" -", "")
                                            .replace("-", "")
                                            .trim();
-            String mappingId = baseName + "_mainframe_response";
-            String fileName = mappingId + "_transformer.json";
-
-            Row headerRow = sheet.getRow(headerRowIndex);
-            Map<String, Integer> columnMap = buildColumnIndexMap(headerRow);
-
-            List<ApiField> fields = new ArrayList<>();
-
-            for (int i = headerRowIndex + 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-
-                String country = getSafeCellValue(row, columnMap.get(normalizeHeader("Applicable Country")));
-                String mandatory = getSafeCellValue(row, columnMap.get(normalizeHeader("SG Field Availability")));
-
-                if (!"SG".equalsIgnoreCase(country) || mandatory == null || mandatory.trim().isEmpty()) {
-                    continue;
-                }
-
-                String source = getSafeCellValue(row, columnMap.get(normalizeHeader(ExcelHeaderConstants.MAINFRAME_FIELDNAME)));
-                String sourceType = getSafeCellValue(row, columnMap.get(normalizeHeader(ExcelHeaderConstants.MAINFRAME_DATATYPE)));
-                String target = getSafeCellValue(row, columnMap.get(normalizeHeader(ExcelHeaderConstants.GLOBAL_API_FIELDNAME)));
-                String targetType = getSafeCellValue(row, columnMap.get(normalizeHeader(ExcelHeaderConstants.GLOBAL_API_DATATYPE)));
-                String operation = getSafeCellValue(row, columnMap.get(normalizeHeader(ExcelHeaderConstants.MAINFRAME_OPERATION)));
-                String transform = getSafeCellValue(row, columnMap.get(normalizeHeader(ExcelHeaderConstants.MAINFRAME_TRANSFORM_VALUE)));
-
-                if (
-                        source.equalsIgnoreCase(ExcelHeaderConstants.MAINFRAME_FIELDNAME) ||
-                                target.equalsIgnoreCase(ExcelHeaderConstants.GLOBAL_API_FIELDNAME)
-                ) continue;
-
-                if (!source.isEmpty() || !target.isEmpty()) {
-                    fields.add(new ApiField(
-                            source,
-                            sourceType.isEmpty() ? null : sourceType,
-                            target,
-                            targetType.isEmpty() ? null : targetType,
-                            operation.isEmpty() ? null : operation,
-                            transform.isEmpty() ? null : transform.replace("\n", "").replace("\r", "")
-                    ));
-                }
-            }
-
-            ApiMapping mapping = new ApiMapping(
-                    mappingId,
-                    baseName,
-                    baseName,
-                    ExcelHeaderConstants.MAINFRAME_FIELDNAME,
-                    ExcelHeaderConstants.GLOBAL_API_FIELDNAME,
-                    fields
-            );
 
-            result.put(fileName, mapping);
+            this.columns = ColumnProjection.compile(columnMap, NORMALIZED_COLUMNS);
+            this.countryFilter = CountryFilter.compile(countries, columnMap, "Applicable Country", " Field Availability");
+            this.fieldsByCountry = CountryFilter.newLists(countryFilter.size());
+
+            for (int c = 0; c < countryFilter.size(); c++) {
+                String mappingId = baseName + "_mainframe_response" + countryFilter.idSuffix(c);
+                String fileName = mappingId + "_transformer.json";
+
+                result.put(fileName, new ApiMapping(
+                        mappingId,
+                        baseName,
+                        baseName,
+                        ExcelHeaderConstants.MAINFRAME_FIELDNAME,
+                        ExcelHeaderConstants.GLOBAL_API_FIELDNAME,
+                        fieldsByCountry[c]
+                ));
+            }
         }
 
-        return result;
-    }
-
-    private String normalizeHeader(String raw) {
-        return raw.replace('\u00A0', ' ')
-                  .replaceAll("[\\s\\u00A0]+", " ")
-                  .trim();
-    }
-
-    private Map<String, Integer> buildColumnIndexMap(Row headerRow) {
-        Map<String, Integer> map = new HashMap<>();
-        if (headerRow == null) return map;
+        @Override
+        public void onRow(MappingRow row) {
+            long countryMask = countryFilter.match(row);
+            if (countryMask == 0) {
+                return;
+            }
 
-        for (Cell cell : headerRow) {
-            if (cell.getCellType() == CellType.STRING) {
-                String key = normalizeHeader(cell.getStringCellValue());
-                map.put(key, cell.getColumnIndex());
+            String source = getSafeCellValue(row, columns[SOURCE]);
+            String sourceType = getSafeCellValue(row, columns[SOURCE_TYPE]);
+            String target = getSafeCellValue(row, columns[TARGET]);
+            String targetType = getSafeCellValue(row, columns[TARGET_TYPE]);
+            String operation = getSafeCellValue(row, columns[OPERATION]);
+            String transform = getSafeCellValue(row, columns[TRANSFORM]);
+
+            if (
+                    source.equalsIgnoreCase(ExcelHeaderConstants.MAINFRAME_FIELDNAME) ||
+                            target.equalsIgnoreCase(ExcelHeaderConstants.GLOBAL_API_FIELDNAME)
+            ) return;
+
+            if (!source.isEmpty() || !target.isEmpty()) {
+                ApiField field = new ApiField(
+                        source,
+                        sourceType.isEmpty() ? null : sourceType,
+                        target,
+                        targetType.isEmpty() ? null : targetType,
+                        operation.isEmpty() ? null : operation,
+                        transform.isEmpty() ? null : transform.replace("\n", "").replace("\r", "")
+                );
+                CountryFilter.addMatching(fieldsByCountry, countryMask, field);
             }
         }
 
-        return map;
-    }
-
-    private int findResponseHeaderRow(Sheet sheet) {
-        for (int i = 0; i <= sheet.getLastRowNum(); i++) {
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
-            for (Cell cell : row) {
-                if (cell.getCellType() == CellType.STRING && cell.getStringCellValue().toLowerCase().contains("response")) {
-                    for (int j = i + 1; j <= sheet.getLastRowNum(); j++) {
-                        Row candidate = sheet.getRow(j);
-                        if (candidate == null) continue;
-                        for (Cell inner : candidate) {
-                            if (inner.getCellType() == CellType.STRING &&
-                                    normalizeHeader(inner.getStringCellValue()).equalsIgnoreCase(normalizeHeader(ExcelHeaderConstants.GLOBAL_API_FIELDNAME))) {
-                                return j;
-                            }
-                        }
-                    }
-                }
-            }
+        @Override
+        public MappingSheetScanner.SectionListener fork() {
+            return new ResponseListener();
         }
-        return -1;
-    }
 
-    private String findMainHeaderBefore(Sheet sheet, int beforeRow) {
-        for (int i = beforeRow - 1; i >= 0; i--) {
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
-            for (Cell cell : row) {
-                if (cell.getCellType() == CellType.STRING) {
-                    String text = cell.getStringCellValue().trim();
-                    if (text.toLowerCase().contains(ExcelHeaderConstants.RESPONSE_MARKER.toLowerCase())) {
-                        return text;
-                    }
-                }
+        @Override
+        public Map<String, ApiMapping> getResult() {
+            if (countryFilter == null) {
+                System.out.println("⚠️ Could not find response header row or its section header.");
             }
+            return result;
         }
-        return null;
     }
 
-    private String getSafeCellValue(Row row, Integer colIndex) {
-        if (row == null || colIndex == null || colIndex < 0) return "";
-        Cell cell = row.getCell(colIndex);
-        return getCellValue(cell);
+    private static String normalizeHeader(String raw) {
+        return raw.replace('\u00A0', ' ')
+                  .replaceAll("[\\s\\u00A0]+", " ")
+                  .trim();
     }
 
-    private String getCellValue(Cell cell) {
-        if (cell == null) return "";
-        try {
-            cell.setCellType(CellType.STRING);
-            return cell.getStringCellValue().trim();
-        } catch (Exception e) {
-            return "";
-        }
+    private String getSafeCellValue(MappingRow row, int colIndex) {
+        if (row == null || colIndex == ColumnProjection.ABSENT) return "";
+        return row.getValue(colIndex);
     }
 }
@@ -0,0 +1,351 @@
+package com.dbs.plugin.codegen;
+
+import com.dbs.plugin.model.ApiField;
+import com.dbs.plugin.model.ApiMapping;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Turns an {@link ApiMapping} into the Java source of a {@link GeneratedMapper}: one method per field, reading the
+ * source with direct {@code get} calls and loops over its arrays, writing the target with direct {@code set} calls.
+ * Nothing is parsed or looked up per request.
+ * <p>
+ * The generated code does what the interpretive engine's compiled array worker does, field by field in mapping order,
+ * so the target tree (and therefore its key order and serialized bytes) comes out the same: null and missing values
+ * are skipped, a nested target array is created as soon as its source array has elements, arrays are padded with
+ * nulls. Operations and type conversion stay with the engine, through {@link GeneratedMapper.Hooks}.
+ * Use {@link MapperDiff} to check a generated mapper against the engine on sample payloads.
+ * <p>
+ * Supported pointers: absolute, not starting with {@code *}, source and target with the same number of {@code *}s.
+ * Other fields make {@link #generate} throw; such mappings stay on the interpretive engine.
+ * <pre>
+ * java com.dbs.plugin.codegen.MapperCodeGenerator &lt;transformer.json|dir&gt; &lt;sourceDir&gt; [--package=com.example.mappers]
+ * </pre>
+ */
+public class MapperCodeGenerator {
+
+    public static final String DEFAULT_PACKAGE = "com.dbs.generated.mappers";
+
+    private static final byte FIELD = 0;
+    private static final byte INDEX = 1;
+    private static final byte WILDCARD = 2;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: MapperCodeGenerator <transformer.json|dir> <sourceDir> [--package=name]");
+            System.exit(2);
+        }
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        String packageName = DEFAULT_PACKAGE;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--package=")) packageName = args[i].substring("--package=".length());
+        }
+
+        List<Path> files;
+        if (Files.isDirectory(input)) {
+            try (Stream<Path> walk = Files.walk(input)) {
+                files = walk.filter(p -> p.toString().endsWith(".json")).sorted().toList();
+            }
+        } else {
+            files = List.of(input);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Path packageDir = output.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(packageDir);
+        int generated = 0;
+        for (Path file : files) {
+            ApiMapping mapping = objectMapper.readValue(file.toFile(), ApiMapping.class);
+            String className = classNameFor(mapping);
+            try {
+                String source = generate(mapping, packageName, className);
+                Files.writeString(packageDir.resolve(className + ".java"), source);
+                generated++;
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipped " + file + ": " + e.getMessage());
+            }
+        }
+        System.out.println("Generated " + generated + " of " + files.size() + " mappers into " + packageDir);
+    }
+
+    /** {@code ApiMapping.name} as a class name: {@code account-details_v2} becomes {@code AccountDetailsV2Mapper}. */
+    public static String classNameFor(ApiMapping mapping) {
+        String name = mapping.getName() == null ? "" : mapping.getName();
+        StringBuilder sb = new StringBuilder();
+        boolean upper = true;
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (Character.isLetterOrDigit(ch) && ch < 128) {
+                sb.append(upper ? Character.toUpperCase(ch) : ch);
+                upper = false;
+            } else {
+                upper = true;
+            }
+        }
+        if (sb.isEmpty() || !Character.isLetter(sb.charAt(0))) sb.insert(0, "Mapping");
+        return sb.append("Mapper").toString();
+    }
+
+    /** Java source of class {@code packageName.className} for {@code mapping}. */
+    public static String generate(ApiMapping mapping, String packageName, String className) {
+        List<ApiField> fields = mapping.getFields() == null ? List.of() : mapping.getFields();
+        List<String> methods = new ArrayList<>(fields.size());
+        for (int f = 0; f < fields.size(); f++) {
+            methods.add(fieldMethod(f, fields.get(f)));
+        }
+
+        StringBuilder out = new StringBuilder(4096);
+        if (packageName != null && !packageName.isEmpty()) out.append("package ").append(packageName).append(";\n\n");
+        out.append("import com.dbs.plugin.codegen.GeneratedMapper;\n");
+        out.append("import com.fasterxml.jackson.databind.JsonNode;\n");
+        out.append("import com.fasterxml.jackson.databind.node.ArrayNode;\n");
+        out.append("import com.fasterxml.jackson.databind.node.ObjectNode;\n\n");
+        out.append("// Generated by MapperCodeGenerator from mapping ").append(comment(mapping.getName()))
+           .append(" (").append(fields.size()).append(" fields). Do not edit; regenerate instead.\n");
+        out.append("public final class ").append(className).append(" implements GeneratedMapper {\n\n");
+        out.append("    @Override\n");
+        out.append("    public String mappingName() {\n");
+        out.append("        return ").append(literal(mapping.getName())).append(";\n");
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public void map(JsonNode source, ObjectNode target, Hooks hooks) {\n");
+        out.append("        if (source == null || !source.isObject()) {\n");
+        out.append("            throw new IllegalArgumentException(\"Generated mappers take an object source\");\n");
+        out.append("        }\n");
+        for (int f = 0; f < fields.size(); f++) {
+            out.append("        field").append(f).append("(source, target, hooks);\n");
+        }
+        out.append("    }\n");
+        for (String method : methods) out.append('\n').append(method);
+        out.append('\n').append(HELPERS);
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private static String fieldMethod(int f, ApiField field) {
+        Pointer source = Pointer.parse(f, "source", field.getSource());
+        Pointer target = Pointer.parse(f, "target", field.getTarget());
+        if (source.stars.size() != target.stars.size()) {
+            throw new IllegalArgumentException("Field " + f + ": source " + field.getSource() + " and target "
+                    + field.getTarget() + " have a different number of '*'");
+        }
+
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("    // ").append(comment(field.getSource())).append(" -> ").append(comment(field.getTarget())).append('\n');
+        sb.append("    private static void field").append(f).append("(JsonNode source, ObjectNode target, Hooks hooks) {\n");
+
+        int depth = source.stars.size();
+        String scope = "source";
+        int from = 0;
+        String indent = "        ";
+        for (int level = 0; level < depth; level++) {
+            int star = source.stars.get(level);
+            String array = "a" + level;
+            String element = "e" + level;
+            String index = "i" + level;
+            String skip = level == 0 ? "return" : "continue";
+
+            sb.append(indent).append("JsonNode ").append(array).append(" = ")
+              .append(source.read(scope, from, star)).append(";\n");
+            sb.append(indent).append("if (").append(array).append(" == null || !").append(array).append(".isArray() || ")
+              .append(array).append(".size() == 0) ").append(skip).append(";\n");
+            if (level > 0) {
+                // nested target arrays exist as soon as their source array has elements
+                sb.append(indent).append(target.container("target", target.stars.get(level))).append(";\n");
+            }
+            sb.append(indent).append("for (int ").append(index).append(" = 0; ").append(index).append(" < ")
+              .append(array).append(".size(); ").append(index).append("++) {\n");
+            indent += "    ";
+            sb.append(indent).append("JsonNode ").append(element).append(" = ").append(array).append(".get(")
+              .append(index).append(");\n");
+            sb.append(indent).append("if (").append(element).append(" == null) continue;\n");
+            scope = element;
+            from = star + 1;
+        }
+
+        String skip = depth == 0 ? "return" : "continue";
+        sb.append(indent).append("JsonNode value = ").append(source.read(scope, from, source.tokens.size())).append(";\n");
+        sb.append(indent).append("if (value == null || value.isNull() || value.isMissingNode()) ").append(skip).append(";\n");
+        if (field.getOperationType() != null) {
+            sb.append(indent).append("value = hooks.operation(").append(f).append(", value);\n");
+        }
+        if (field.getTargetDataType() != null && !field.getTargetDataType().isBlank()) {
+            sb.append(indent).append("value = hooks.convert(").append(f).append(", value);\n");
+        }
+        int last = target.tokens.size() - 1;
+        sb.append(indent).append("put(").append(target.container("target", last)).append(", ")
+          .append(target.step(last)).append(", value);\n");
+
+        for (int level = depth - 1; level >= 0; level--) {
+            indent = indent.substring(4);
+            sb.append(indent).append("}\n");
+        }
+        sb.append("    }\n");
+        return sb.toString();
+    }
+
+    /** A pointer split into unescaped tokens, with the position of each {@code *}. */
+    private static final class Pointer {
+
+        final List<String> tokens = new ArrayList<>();
+        final List<Byte> kinds = new ArrayList<>();
+        final List<Integer> stars = new ArrayList<>();
+
+        static Pointer parse(int f, String side, String pointer) {
+            if (pointer == null || !pointer.startsWith("/")) {
+                throw new IllegalArgumentException("Field " + f + ": " + side + " is not a JSON pointer: " + pointer);
+            }
+            Pointer p = new Pointer();
+            for (String raw : pointer.substring(1).split("/", -1)) {
+                if ("*".equals(raw)) {
+                    p.stars.add(p.tokens.size());
+                    p.kinds.add(WILDCARD);
+                    p.tokens.add(raw);
+                } else if (isIndexToken(raw)) {
+                    p.kinds.add(INDEX);
+                    p.tokens.add(raw);
+                } else {
+                    p.kinds.add(FIELD);
+                    p.tokens.add(raw.replace("~1", "/").replace("~0", "~"));
+                }
+            }
+            if (p.kinds.get(0) == WILDCARD) {
+                throw new IllegalArgumentException("Field " + f + ": " + side + " " + pointer
+                        + " starts with '*'; root arrays are left to the interpretive engine");
+            }
+            return p;
+        }
+
+        /** Expression reading tokens {@code [from, to)} from {@code scope}; wildcards are never part of it. */
+        String read(String scope, int from, int to) {
+            String expr = scope;
+            for (int t = from; t < to; t++) expr = "read(" + expr + ", " + step(t) + ")";
+            return expr;
+        }
+
+        /** Expression for the container token {@code to} applies to, creating containers from {@code root}. */
+        String container(String root, int to) {
+            String expr = root;
+            for (int t = 0; t < to; t++) {
+                expr = "child(" + expr + ", " + step(t) + ", " + (kinds.get(t + 1) != FIELD) + ")";
+            }
+            return expr;
+        }
+
+        /** Name and index arguments of token {@code t}: the k-th wildcard binds to loop variable {@code ik}. */
+        String step(int t) {
+            return switch (kinds.get(t)) {
+                case FIELD -> literal(tokens.get(t)) + ", -1";
+                case INDEX -> literal(tokens.get(t)) + ", " + tokens.get(t);
+                default -> "null, i" + stars.indexOf(t);
+            };
+        }
+    }
+
+    private static boolean isIndexToken(String token) {
+        if (token.isEmpty() || token.length() > 9) return false;
+        for (int i = 0; i < token.length(); i++) {
+            char ch = token.charAt(i);
+            if (ch < '0' || ch > '9') return false;
+        }
+        return true;
+    }
+
+    private static String literal(String s) {
+        if (s == null) return "null";
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            switch (ch) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (ch < 0x20 || ch > 0x7e) sb.append(String.format("\\u%04x", (int) ch));
+                    else sb.append(ch);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    // printable ASCII only: javac reads backslash-u escapes even inside comments
+    private static String comment(String s) {
+        if (s == null) return "null";
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            sb.append(ch < 0x20 || ch > 0x7e || ch == '\\' ? '?' : ch);
+        }
+        return sb.toString();
+    }
+
+    /** Pointer steps of the generated class; same rules and messages as the engine's PointerProgram. */
+    private static final String HELPERS = """
+                // name is null for '*', index is -1 for a field name
+                private static JsonNode read(JsonNode node, String name, int index) {
+                    if (node == null) return null;
+                    if (index >= 0 && node.isArray()) return node.get(index);
+                    if (name != null && node.isObject()) return node.get(name);
+                    return null;
+                }
+
+                private static JsonNode child(JsonNode parent, String name, int index, boolean array) {
+                    if (parent instanceof ObjectNode objectNode) {
+                        JsonNode child = objectNode.get(key(name));
+                        if (child == null || child.isNull() || child.isMissingNode()) {
+                            child = array ? objectNode.arrayNode() : objectNode.objectNode();
+                            objectNode.set(name, child);
+                        }
+                        return child;
+                    }
+                    if (parent instanceof ArrayNode arrayNode) {
+                        pad(arrayNode, index(name, index));
+                        JsonNode child = arrayNode.get(index);
+                        if (child == null || child.isNull() || child.isMissingNode()) {
+                            child = array ? arrayNode.arrayNode() : arrayNode.objectNode();
+                            arrayNode.set(index, child);
+                        }
+                        return child;
+                    }
+                    throw new IllegalStateException("Unexpected node type while traversing pointer: " + parent.getNodeType());
+                }
+
+                private static void put(JsonNode parent, String name, int index, JsonNode value) {
+                    if (parent instanceof ObjectNode objectNode) {
+                        objectNode.set(key(name), value);
+                    } else if (parent instanceof ArrayNode arrayNode) {
+                        pad(arrayNode, index(name, index));
+                        arrayNode.set(index, value);
+                    } else {
+                        throw new IllegalStateException("Unexpected node type at final pointer step: " + parent.getNodeType());
+                    }
+                }
+
+                private static String key(String name) {
+                    if (name == null) {
+                        throw new IllegalStateException("Illegal pointer token '*'. Wildcards must be bound to an index before writing.");
+                    }
+                    return name;
+                }
+
+                private static int index(String name, int index) {
+                    if (index < 0) throw new IllegalStateException("Array step expects an index but got '" + name + "'");
+                    return index;
+                }
+
+                private static void pad(ArrayNode arrayNode, int index) {
+                    while (arrayNode.size() <= index) arrayNode.addNull();
+                }
+            """;
+}
@@ -0,0 +1,98 @@
+package com.dbs.plugin.codegen;
+
+import com.dbs.plugin.model.ApiMapping;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load-time path for generated mappers: generates, compiles in memory and instantiates one.
+ * Needs a JDK, with Jackson and {@link GeneratedMapper} on {@code java.class.path}; where that does not hold (e.g. a
+ * packaged application), run {@link MapperCodeGenerator#main} at build time and compile the sources with the rest.
+ */
+public final class MapperCompiler {
+
+    private MapperCompiler() {
+    }
+
+    public static GeneratedMapper compile(ApiMapping mapping) {
+        String className = MapperCodeGenerator.classNameFor(mapping);
+        String source = MapperCodeGenerator.generate(mapping, MapperCodeGenerator.DEFAULT_PACKAGE, className);
+        return compile(MapperCodeGenerator.DEFAULT_PACKAGE + "." + className, source);
+    }
+
+    public static GeneratedMapper compile(String qualifiedName, String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler available; generate " + qualifiedName + " at build time");
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, ByteArrayOutputStream> classes = new HashMap<>();
+        StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+        JavaFileManager fileManager = new ForwardingJavaFileManager<>(standard) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                       FileObject sibling) {
+                return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        return classes.computeIfAbsent(className, k -> new ByteArrayOutputStream());
+                    }
+                };
+            }
+        };
+        JavaFileObject unit = new SimpleJavaFileObject(
+                URI.create("string:///" + qualifiedName.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+
+        List<String> options = List.of("-classpath", System.getProperty("java.class.path"), "-proc:none");
+        boolean ok = compiler.getTask(null, fileManager, diagnostics, options, null, List.of(unit)).call();
+        try {
+            fileManager.close();
+        } catch (IOException ignore) { }
+        if (!ok) {
+            StringBuilder sb = new StringBuilder("Generated mapper " + qualifiedName + " does not compile:");
+            for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+                sb.append("\n  line ").append(d.getLineNumber()).append(": ").append(d.getMessage(null));
+            }
+            throw new IllegalStateException(sb.toString());
+        }
+
+        ClassLoader loader = new ClassLoader(MapperCompiler.class.getClassLoader()) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                ByteArrayOutputStream bytes = classes.get(name);
+                if (bytes == null) throw new ClassNotFoundException(name);
+                byte[] b = bytes.toByteArray();
+                return defineClass(name, b, 0, b.length);
+            }
+        };
+        try {
+            return loader.loadClass(qualifiedName).asSubclass(GeneratedMapper.class).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Generated mapper " + qualifiedName + " could not be loaded", e);
+        }
+    }
+}
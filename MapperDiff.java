@@ -0,0 +1,109 @@
+package com.dbs.plugin.codegen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Differential mode for generated mappers: runs a {@link GeneratedMapper} and the interpretive engine on the same sample
+ * payloads and compares the serialized output byte for byte.
+ * The engine is passed in as a function (source to target), with the hooks backed by that same engine, so this class
+ * needs nothing beyond the generated code. A sample where both sides fail counts as agreeing.
+ */
+public final class MapperDiff {
+
+    /** First differing byte of one sample's output, with some text around it from either side. */
+    public record Mismatch(String sample, int offset, String expected, String actual) {
+
+        @Override
+        public String toString() {
+            return sample + " differs at byte " + offset + ":\n  engine:    " + expected + "\n  generated: " + actual;
+        }
+    }
+
+    private static final int CONTEXT = 40;
+
+    private MapperDiff() {
+    }
+
+    /** Every {@code *.json} file under {@code dir}, parsed, keyed by file name. */
+    public static Map<String, JsonNode> samples(Path dir, ObjectMapper objectMapper) throws IOException {
+        Map<String, JsonNode> samples = new LinkedHashMap<>();
+        try (Stream<Path> walk = Files.walk(dir)) {
+            for (Path file : walk.filter(p -> p.toString().endsWith(".json")).sorted().toList()) {
+                samples.put(dir.relativize(file).toString(), objectMapper.readTree(file.toFile()));
+            }
+        }
+        return samples;
+    }
+
+    public static List<Mismatch> compare(GeneratedMapper generated,
+                                         GeneratedMapper.Hooks hooks,
+                                         Function<JsonNode, JsonNode> engine,
+                                         ObjectMapper objectMapper,
+                                         Map<String, JsonNode> samples) {
+        List<Mismatch> mismatches = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> sample : samples.entrySet()) {
+            String expected = run(() -> engine.apply(sample.getValue().deepCopy()), objectMapper);
+            String actual = run(() -> {
+                ObjectNode target = objectMapper.createObjectNode();
+                generated.map(sample.getValue().deepCopy(), target, hooks);
+                return target;
+            }, objectMapper);
+            if (expected.startsWith("!") && actual.startsWith("!")) continue; // both failed
+
+            byte[] e = expected.getBytes(StandardCharsets.UTF_8);
+            byte[] a = actual.getBytes(StandardCharsets.UTF_8);
+            int offset = Arrays.mismatch(e, a);
+            if (offset >= 0) {
+                mismatches.add(new Mismatch(sample.getKey(), offset, around(e, offset), around(a, offset)));
+            }
+        }
+        return mismatches;
+    }
+
+    /** Like {@link #compare}, throwing an {@link AssertionError} that lists every mismatch. */
+    public static void assertIdentical(GeneratedMapper generated,
+                                       GeneratedMapper.Hooks hooks,
+                                       Function<JsonNode, JsonNode> engine,
+                                       ObjectMapper objectMapper,
+                                       Map<String, JsonNode> samples) {
+        List<Mismatch> mismatches = compare(generated, hooks, engine, objectMapper, samples);
+        if (!mismatches.isEmpty()) {
+            StringBuilder sb = new StringBuilder(generated.mappingName())
+                    .append(": ").append(mismatches.size()).append(" of ").append(samples.size())
+                    .append(" samples differ from the interpretive engine");
+            for (Mismatch m : mismatches) sb.append('\n').append(m);
+            throw new AssertionError(sb.toString());
+        }
+    }
+
+    // serialized output, or "!" and the exception when the side failed
+    private static String run(java.util.function.Supplier<JsonNode> side, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.writeValueAsString(side.get());
+        } catch (JsonProcessingException | RuntimeException e) {
+            return "!" + e;
+        }
+    }
+
+    private static String around(byte[] bytes, int offset) {
+        int from = Math.max(0, offset - CONTEXT);
+        int to = Math.min(bytes.length, offset + CONTEXT);
+        return (from > 0 ? "..." : "") + new String(bytes, from, to - from, StandardCharsets.UTF_8)
+                + (to < bytes.length ? "..." : "");
+    }
+}
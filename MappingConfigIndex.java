@@ -0,0 +1,151 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lookups over the fields of one {@link MappingConfig}, built once instead of scanning {@code getMappedFields()} per
+ * request: by source pointer, target pointer, last meaningful source token and custom transformer name.
+ * Where several fields share a key the first one in mapping order wins, as with the linear scans this replaces.
+ * <p>
+ * {@link #of} keeps one index per config instance (compared by identity, held weakly so reloaded configs can go);
+ * a lookup is a couple of array reads and a {@code HashMap.get}, with no allocation.
+ */
+public final class MappingConfigIndex {
+
+    private static final IdentityCache<MappingConfig, MappingConfigIndex> CACHE = new IdentityCache<>();
+
+    private final Map<String, FieldMapping> bySourcePointer;
+    private final Map<String, FieldMapping> byTargetPointer;
+    private final Map<String, FieldMapping> byLastToken;
+    private final Map<String, FieldMapping> bySourceProperty;
+    private final Map<String, List<FieldMapping>> byTransformer;
+
+    private MappingConfigIndex(MappingConfig config) {
+        Map<String, FieldMapping> bySourcePointer = new HashMap<>();
+        Map<String, FieldMapping> byTargetPointer = new HashMap<>();
+        Map<String, FieldMapping> byLastToken = new HashMap<>();
+        Map<String, FieldMapping> bySourceProperty = new HashMap<>();
+        Map<String, List<FieldMapping>> byTransformer = new HashMap<>();
+
+        List<FieldMapping> fields = config.getMappedFields() == null ? List.of() : config.getMappedFields();
+        for (FieldMapping field : fields) {
+            if (field.getSourcePointer() != null) bySourcePointer.putIfAbsent(field.getSourcePointer(), field);
+            if (field.getTargetPointer() != null) byTargetPointer.putIfAbsent(field.getTargetPointer(), field);
+
+            String property = matchingProperty(field);
+            if (property != null) bySourceProperty.putIfAbsent(property, field);
+            String last = lastMeaningfulToken(sourcePointerString(field));
+            if (last != null) {
+                byLastToken.putIfAbsent(last, field);
+                bySourceProperty.putIfAbsent(last, field);
+            }
+
+            if (field.getCustomTransformer() != null) {
+                byTransformer.computeIfAbsent(field.getCustomTransformer(), k -> new ArrayList<>()).add(field);
+            }
+        }
+        byTransformer.replaceAll((name, list) -> Collections.unmodifiableList(list));
+
+        this.bySourcePointer = bySourcePointer;
+        this.byTargetPointer = byTargetPointer;
+        this.byLastToken = byLastToken;
+        this.bySourceProperty = bySourceProperty;
+        this.byTransformer = byTransformer;
+    }
+
+    /** Index of {@code config}, built on first use; call at config load to keep that off the request path. */
+    public static MappingConfigIndex of(MappingConfig config) {
+        MappingConfigIndex index = CACHE.get(config);
+        if (index == null) {
+            index = CACHE.putIfAbsent(config, new MappingConfigIndex(config));
+        }
+        return index;
+    }
+
+    public FieldMapping bySourcePointer(String sourcePointer) {
+        return bySourcePointer.get(sourcePointer);
+    }
+
+    public FieldMapping byTargetPointer(String targetPointer) {
+        return byTargetPointer.get(targetPointer);
+    }
+
+    /** First field whose source pointer ends in {@code token}, ignoring trailing indexes and wildcards. */
+    public FieldMapping byLastToken(String token) {
+        return byLastToken.get(token);
+    }
+
+    /**
+     * First field whose compiled source pointer matches property {@code name}, or whose source pointer's last
+     * meaningful token is {@code name}.
+     */
+    public FieldMapping bySourceProperty(String name) {
+        return bySourceProperty.get(name);
+    }
+
+    /** Fields using the custom transformer bean {@code name}, in mapping order. */
+    public List<FieldMapping> byTransformer(String name) {
+        return byTransformer.getOrDefault(name, List.of());
+    }
+
+    private static String matchingProperty(FieldMapping field) {
+        try {
+            return field.getCompiledSourcePointer() == null ? null : field.getCompiledSourcePointer().getMatchingProperty();
+        } catch (Exception ignore) {
+            // Some compiled pointers (array/wildcard) may not support getMatchingProperty()
+            return null;
+        }
+    }
+
+    /** Get a usable pointer string from FieldMapping, regardless of how it’s stored. */
+    private static String sourcePointerString(FieldMapping field) {
+        try {
+            if (field.getSourcePointer() != null) {
+                return field.getSourcePointer();
+            }
+        } catch (Exception ignore) { }
+
+        try {
+            if (field.getCompiledSourcePointer() != null) {
+                return field.getCompiledSourcePointer().toString();
+            }
+        } catch (Exception ignore) { }
+
+        return null;
+    }
+
+    /**
+     * Returns the last non-index, non-wildcard token of a JSON-pointer-like path.
+     * Examples:
+     *  "/a/b/c" -> "c"
+     *  "/a/b/0/pnsProductCode" -> "pnsProductCode"
+     *  "/a/*&#47;pnsProductCode"   -> "pnsProductCode"
+     *  "a/b/c"                 -> "c"
+     *  "/a/b/0"                -> "b" (steps back from trailing array index)
+     */
+    static String lastMeaningfulToken(String pointer) {
+        if (pointer == null || pointer.isEmpty()) return null;
+
+        int end = pointer.length();
+        while (end > 0) {
+            int start = pointer.lastIndexOf('/', end - 1) + 1;
+            if (start < end && !isIndexOrWildcard(pointer, start, end)) {
+                // Unescape JSON Pointer tokens (~1 -> '/', ~0 -> '~')
+                return pointer.substring(start, end).replace("~1", "/").replace("~0", "~");
+            }
+            end = start - 1;
+        }
+        return null;
+    }
+
+    private static boolean isIndexOrWildcard(String pointer, int start, int end) {
+        if (end - start == 1 && (pointer.charAt(start) == '*' || pointer.charAt(start) == '-')) return true;
+        for (int i = start; i < end; i++) {
+            char ch = pointer.charAt(i);
+            if (ch < '0' || ch > '9') return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.dbs.plugin.service;
+
+/**
+ * One row of the mapping sheet as seen by {@link MappingSheetScanner} listeners.
+ * Implementations may be reused between rows, so listeners must not keep a reference past {@code onRow}.
+ */
+public interface MappingRow {
+
+    /** Zero-based row index in the sheet. */
+    int getRowIndex();
+
+    /** One past the last column that holds a cell, like {@code Row#getLastCellNum()}; -1 for an empty row. */
+    int getLastCellNum();
+
+    /** Untrimmed text of a string-typed cell, or {@code null} when the cell is absent or not a string. */
+    String getStringCell(int colIndex);
+
+    /** Cell content converted to text and trimmed; {@code ""} when the cell is absent. */
+    String getValue(int colIndex);
+
+    /**
+     * Like {@link #getValue(int)}, but a cell inside a merged region reads the region's top-left value.
+     * Backed by a {@link MergedRegionIndex}, so the lookup does not scan the sheet's merged regions.
+     */
+    String getMergedValue(int colIndex);
+}
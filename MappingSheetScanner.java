@@ -0,0 +1,414 @@
+package com.dbs.plugin.service;
+
+import com.dbs.plugin.constants.ExcelHeaderConstants;
+import com.dbs.plugin.model.ApiMapping;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Opens a mapping workbook once and finds every API section on every sheet in a single walk.
+ * A section is a {@code Global API Fieldname} header row titled by the nearest "... Request" or "... Response"
+ * row above it. Each registered {@link SectionListener} receives the header and data rows of the sections it builds.
+ * <p>
+ * With the usermodel, sections are discovered first and then extracted concurrently on a fork-join pool.
+ * Results are merged by listener, then by sheet and row order, so the output order is deterministic.
+ * <p>
+ * An optional {@code checkpoint} runs before the workbook is opened, between sheets and on every row of discovery
+ * and streaming; it cancels the scan by throwing. Opening a usermodel workbook is a single POI call and cannot be
+ * interrupted, so a cancel during the open takes effect right after it.
+ */
+public class MappingSheetScanner {
+
+    public enum Section { REQUEST, RESPONSE }
+
+    public interface SectionListener {
+
+        Section getSection();
+
+        /** Header cells inside a merged region resolve to the region's top-left value. */
+        default boolean usesMergedHeaders() {
+            return false;
+        }
+
+        void onHeader(String sectionHeader, Map<String, Integer> columnMap);
+
+        void onRow(MappingRow row);
+
+        Map<String, ApiMapping> getResult();
+
+        /** A fresh listener of the same kind, used to extract one section on a worker thread. */
+        SectionListener fork();
+    }
+
+    /** How the workbook is read: the POI usermodel, or row-by-row from the sheet XML (.xlsx only). */
+    public enum ReadMode {
+        DOM,
+        STREAMING;
+
+        private static final long STREAMING_THRESHOLD_BYTES = 8L * 1024 * 1024;
+
+        /** Streams large .xlsx workbooks; everything else goes through the usermodel. */
+        public static ReadMode forFile(File excelFile) {
+            return excelFile.getName().toLowerCase().endsWith(".xlsx") && excelFile.length() > STREAMING_THRESHOLD_BYTES
+                    ? STREAMING
+                    : DOM;
+        }
+    }
+
+    private static final Runnable NO_CHECKPOINT = () -> { };
+
+    /** Row-by-row view of a sheet, backed by the usermodel or by {@link StreamingMappingSheetReader}. */
+    interface SheetRows {
+
+        /** Next non-empty row, or {@code null} once the sheet is exhausted. */
+        MappingRow next() throws Exception;
+    }
+
+    public static Map<String, ApiMapping> scan(File excelFile, SectionListener... listeners) throws Exception {
+        return scan(excelFile, ReadMode.DOM, listeners);
+    }
+
+    public static Map<String, ApiMapping> scan(File excelFile, ReadMode mode, SectionListener... listeners) throws Exception {
+        return scan(excelFile, mode, NO_CHECKPOINT, listeners);
+    }
+
+    public static Map<String, ApiMapping> scan(File excelFile, ReadMode mode, Runnable checkpoint,
+                                               SectionListener... listeners) throws Exception {
+        checkpoint.run();
+        if (mode == ReadMode.STREAMING) {
+            // Streaming has no random access, so sections are fed to the listeners in sheet order
+            for (String sheetName : StreamingMappingSheetReader.listSheets(excelFile)) {
+                checkpoint.run();
+                try (StreamingMappingSheetReader reader = StreamingMappingSheetReader.open(excelFile, sheetName)) {
+                    if (reader != null) {
+                        walk(reader, checkpoint, listeners);
+                    }
+                }
+            }
+            return collect(listeners);
+        }
+
+        try (InputStream in = new FileInputStream(excelFile);
+             Workbook workbook = WorkbookFactory.create(in)) {
+            return scan(workbook, checkpoint, listeners);
+        }
+    }
+
+    public static Map<String, ApiMapping> scan(Workbook workbook, SectionListener... listeners) {
+        return scan(workbook, NO_CHECKPOINT, listeners);
+    }
+
+    public static Map<String, ApiMapping> scan(Workbook workbook, Runnable checkpoint, SectionListener... listeners) {
+        List<SectionBlock> blocks = new ArrayList<>();
+        for (Sheet sheet : workbook) {
+            checkpoint.run();
+            discover(sheet, blocks, checkpoint);
+        }
+        return extract(blocks, listeners);
+    }
+
+    private static Map<String, ApiMapping> collect(SectionListener[] listeners) {
+        Map<String, ApiMapping> result = new LinkedHashMap<>();
+        for (SectionListener listener : listeners) {
+            result.putAll(listener.getResult());
+        }
+        return result;
+    }
+
+    /** Single pass for sources without random access: every row goes straight to the open section's listeners. */
+    private static void walk(SheetRows rows, Runnable checkpoint, SectionListener[] listeners) throws Exception {
+        SectionTracker tracker = new SectionTracker();
+        MappingRow row;
+        while ((row = rows.next()) != null) {
+            checkpoint.run();
+            if (tracker.accept(row)) {
+                if (tracker.open != null) fireHeader(tracker.open, row, tracker.title, listeners);
+            } else if (tracker.open != null) {
+                fireRow(tracker.open, row, listeners);
+            }
+        }
+    }
+
+    private static void discover(Sheet sheet, List<SectionBlock> blocks, Runnable checkpoint) {
+        DomSheetRows rows = new DomSheetRows(sheet, MergedRegionIndex.of(sheet.getMergedRegions()));
+        SectionTracker tracker = new SectionTracker();
+        SectionBlock current = null;
+
+        MappingRow row;
+        while ((row = rows.next()) != null) {
+            checkpoint.run();
+            boolean header = tracker.accept(row);
+            if (current != null && (header || tracker.open == null)) {
+                current.endRow = row.getRowIndex();
+                current = null;
+            }
+            if (header && tracker.open != null) {
+                current = new SectionBlock(rows, tracker.open, tracker.title, row.getRowIndex());
+                blocks.add(current);
+            }
+        }
+        if (current != null) {
+            current.endRow = sheet.getLastRowNum() + 1;
+        }
+    }
+
+    private static Map<String, ApiMapping> extract(List<SectionBlock> blocks, SectionListener[] listeners) {
+        List<List<ForkJoinTask<Map<String, ApiMapping>>>> tasks = new ArrayList<>(listeners.length);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        for (SectionListener listener : listeners) {
+            List<ForkJoinTask<Map<String, ApiMapping>>> perListener = new ArrayList<>();
+            for (SectionBlock block : blocks) {
+                if (block.section == listener.getSection()) {
+                    SectionListener fork = listener.fork();
+                    perListener.add(pool.submit(() -> block.extract(fork)));
+                }
+            }
+            tasks.add(perListener);
+        }
+
+        // Join in submission order so the result never depends on which worker finished first
+        Map<String, ApiMapping> result = new LinkedHashMap<>();
+        for (List<ForkJoinTask<Map<String, ApiMapping>>> perListener : tasks) {
+            for (ForkJoinTask<Map<String, ApiMapping>> task : perListener) {
+                result.putAll(task.join());
+            }
+        }
+        return result;
+    }
+
+    private static void fireHeader(Section section, MappingRow headerRow, String sectionHeader,
+                                   SectionListener[] listeners) {
+        Map<String, Integer> plainMap = null;
+        Map<String, Integer> mergedMap = null;
+
+        for (SectionListener listener : listeners) {
+            if (listener.getSection() != section) continue;
+
+            Map<String, Integer> columnMap;
+            if (listener.usesMergedHeaders()) {
+                if (mergedMap == null) mergedMap = buildMergedColumnIndexMap(headerRow);
+                columnMap = mergedMap;
+            } else {
+                if (plainMap == null) plainMap = buildColumnIndexMap(headerRow);
+                columnMap = plainMap;
+            }
+            listener.onHeader(sectionHeader, columnMap);
+        }
+    }
+
+    private static void fireRow(Section section, MappingRow row, SectionListener[] listeners) {
+        for (SectionListener listener : listeners) {
+            if (listener.getSection() == section) {
+                listener.onRow(row);
+            }
+        }
+    }
+
+    private static Map<String, Integer> buildColumnIndexMap(MappingRow headerRow) {
+        Map<String, Integer> map = new HashMap<>();
+        for (int col = 0; col < headerRow.getLastCellNum(); col++) {
+            String raw = headerRow.getStringCell(col);
+            if (raw != null) {
+                map.put(normalizeHeader(raw), col);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Map<String, Integer> buildMergedColumnIndexMap(MappingRow headerRow) {
+        Map<String, Integer> map = new HashMap<>();
+        for (int col = 0; col < headerRow.getLastCellNum(); col++) {
+            String key = headerRow.getMergedValue(col);
+            if (!key.isEmpty()) {
+                map.put(key, col);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /** Collapses whitespace runs (including non-breaking spaces) to one space and trims; runs on every string cell, so no regex. */
+    private static String normalizeHeader(String raw) {
+        StringBuilder sb = new StringBuilder(raw.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < raw.length(); i++) {
+            char ch = raw.charAt(i);
+            if (ch == ' ' || ch == '\u00A0' || ch == '\t' || ch == '\n' || ch == '\r' || ch == '\f' || ch == 0x0B) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) sb.append(' ');
+                pendingSpace = false;
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Section boundaries, one row at a time. A {@code Global API Fieldname} row opens a section whose kind and title
+     * come from the nearest Request/Response title row above it. Request sections also close at the first row
+     * mentioning "Response"; every section closes at the next header row.
+     */
+    private static final class SectionTracker {
+
+        private static final String GLOBAL_HEADER = normalizeHeader(ExcelHeaderConstants.GLOBAL_API_FIELDNAME);
+        private static final String REQUEST_MARKER = ExcelHeaderConstants.REQUEST_MARKER.toLowerCase();
+        private static final String RESPONSE_MARKER = ExcelHeaderConstants.RESPONSE_MARKER.toLowerCase();
+
+        /** Section the current data rows belong to, {@code null} between sections. */
+        Section open;
+        String title;
+
+        private Section lastMarker;
+        private String lastRequestTitle;
+        private String lastResponseTitle;
+
+        /** Returns {@code true} when the row is a section header; {@link #open} is null if it has no title. */
+        boolean accept(MappingRow row) {
+            boolean hasGlobalHeader = false;
+            boolean hasResponse = false;
+            String requestText = null;
+            String responseText = null;
+
+            for (int col = 0; col < row.getLastCellNum(); col++) {
+                String raw = row.getStringCell(col);
+                if (raw == null) continue;
+                String text = raw.trim();
+                String lower = text.toLowerCase();
+
+                if (!hasGlobalHeader && normalizeHeader(raw).equalsIgnoreCase(GLOBAL_HEADER)) hasGlobalHeader = true;
+                if (lower.contains(RESPONSE_MARKER)) {
+                    hasResponse = true;
+                    if (responseText == null) responseText = text;
+                }
+                if (requestText == null && lower.contains(REQUEST_MARKER)) requestText = text;
+            }
+
+            if (hasGlobalHeader) {
+                open = lastMarker;
+                title = lastMarker == Section.REQUEST ? lastRequestTitle
+                        : lastMarker == Section.RESPONSE ? lastResponseTitle
+                        : null;
+            } else if (open == Section.REQUEST && hasResponse) {
+                open = null;
+            }
+
+            // Titles are looked up strictly above the header row, so record them last
+            if (requestText != null) {
+                lastRequestTitle = requestText;
+                lastMarker = Section.REQUEST;
+            }
+            if (responseText != null) {
+                lastResponseTitle = responseText;
+                lastMarker = Section.RESPONSE;
+            }
+            return hasGlobalHeader;
+        }
+    }
+
+    /** A discovered section of a usermodel sheet: rows {@code headerRow + 1} up to, excluding, {@code endRow}. */
+    private static final class SectionBlock {
+
+        private final DomSheetRows rows;
+        private final Section section;
+        private final String title;
+        private final int headerRow;
+        private int endRow;
+
+        SectionBlock(DomSheetRows rows, Section section, String title, int headerRow) {
+            this.rows = rows;
+            this.section = section;
+            this.title = title;
+            this.headerRow = headerRow;
+        }
+
+        Map<String, ApiMapping> extract(SectionListener listener) {
+            DomSheetRows cursor = rows.cursor();
+            cursor.moveTo(headerRow);
+            listener.onHeader(title, listener.usesMergedHeaders()
+                    ? buildMergedColumnIndexMap(cursor)
+                    : buildColumnIndexMap(cursor));
+
+            for (int r = headerRow + 1; r < endRow; r++) {
+                if (cursor.moveTo(r)) {
+                    listener.onRow(cursor);
+                }
+            }
+            return listener.getResult();
+        }
+    }
+
+    /**
+     * Usermodel-backed rows; one wrapper is reused for every row and cells are read without mutation.
+     * The sheet is only read, so separate cursors over the same sheet can run on different threads.
+     */
+    private static class DomSheetRows implements SheetRows, MappingRow {
+
+        private final Sheet sheet;
+        private final MergedRegionIndex mergedIndex;
+        private int nextIndex;
+        private Row current;
+
+        DomSheetRows(Sheet sheet, MergedRegionIndex mergedIndex) {
+            this.sheet = sheet;
+            this.mergedIndex = mergedIndex;
+        }
+
+        DomSheetRows cursor() {
+            return new DomSheetRows(sheet, mergedIndex);
+        }
+
+        boolean moveTo(int rowIndex) {
+            Row row = sheet.getRow(rowIndex);
+            if (row == null) return false;
+            current = row;
+            return true;
+        }
+
+        @Override
+        public MappingRow next() {
+            while (nextIndex <= sheet.getLastRowNum()) {
+                if (moveTo(nextIndex++)) {
+                    return this;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int getRowIndex() {
+            return current.getRowNum();
+        }
+
+        @Override
+        public int getLastCellNum() {
+            return current.getLastCellNum();
+        }
+
+        @Override
+        public String getStringCell(int colIndex) {
+            Cell cell = current.getCell(colIndex);
+            return cell != null && cell.getCellType() == CellType.STRING ? cell.getStringCellValue() : null;
+        }
+
+        @Override
+        public String getValue(int colIndex) {
+            return CellText.of(current.getCell(colIndex));
+        }
+
+        @Override
+        public String getMergedValue(int colIndex) {
+            CellRangeAddress region = mergedIndex.find(current.getRowNum(), colIndex);
+            if (region == null) return getValue(colIndex);
+            Row anchorRow = sheet.getRow(region.getFirstRow());
+            return anchorRow == null ? "" : CellText.of(anchorRow.getCell(region.getFirstColumn()));
+        }
+    }
+}
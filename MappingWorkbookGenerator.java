@@ -0,0 +1,147 @@
+package com.dbs.plugin.bench;
+
+import com.dbs.plugin.constants.ExcelHeaderConstants;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds synthetic mapping workbooks shaped like the real ones: each API gets a {@code <name> - Request} and a
+ * {@code <name> - Response} section with a merged title row, a merged "Sun CBS" / "Mainframe" banner row and the
+ * usual header row, followed by data rows spread over the configured countries.
+ * Rows are streamed through {@link SXSSFWorkbook}, so 200k-row workbooks can be generated with a small heap.
+ * <pre>
+ * java com.dbs.plugin.bench.MappingWorkbookGenerator &lt;out.xlsx&gt; [rows] [sections] [countries]
+ * </pre>
+ */
+public class MappingWorkbookGenerator {
+
+    private int rows = 10_000;
+    private int sections = 10;
+    private List<String> countries = List.of("SG", "HK", "IN", "ID", "TW");
+    private boolean mergedRegions = true;
+
+    /** Data rows across all sections, request and response together. */
+    public MappingWorkbookGenerator rows(int rows) {
+        this.rows = rows;
+        return this;
+    }
+
+    /** Number of APIs; each contributes one request and one response section. */
+    public MappingWorkbookGenerator sections(int sections) {
+        this.sections = Math.max(1, sections);
+        return this;
+    }
+
+    public MappingWorkbookGenerator countries(List<String> countries) {
+        this.countries = List.copyOf(countries);
+        return this;
+    }
+
+    public MappingWorkbookGenerator mergedRegions(boolean mergedRegions) {
+        this.mergedRegions = mergedRegions;
+        return this;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: MappingWorkbookGenerator <out.xlsx> [rows] [sections] [countries]");
+            System.exit(2);
+        }
+        MappingWorkbookGenerator generator = new MappingWorkbookGenerator();
+        if (args.length > 1) generator.rows(Integer.parseInt(args[1]));
+        if (args.length > 2) generator.sections(Integer.parseInt(args[2]));
+        if (args.length > 3) generator.countries(List.of(args[3].split(",")));
+        generator.write(new File(args[0]));
+    }
+
+    public void write(File target) throws Exception {
+        List<String> headers = headers();
+        int rowsPerSection = Math.max(1, rows / (sections * 2));
+
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(200);
+             OutputStream out = new FileOutputStream(target)) {
+            Sheet sheet = workbook.createSheet(ExcelHeaderConstants.SHEET_NAME);
+            int r = 0;
+            for (int api = 0; api < sections; api++) {
+                String name = "Api" + api;
+                r = writeSection(sheet, r, name + " - " + ExcelHeaderConstants.REQUEST_MARKER, headers, rowsPerSection);
+                r = writeSection(sheet, r, name + " - " + ExcelHeaderConstants.RESPONSE_MARKER, headers, rowsPerSection);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+
+    private int writeSection(Sheet sheet, int r, String title, List<String> headers, int dataRows) {
+        int sunCbsFirst = headers.indexOf(ExcelHeaderConstants.SUNCBS_FIELDNAME);
+        int mainframeFirst = headers.indexOf(ExcelHeaderConstants.MAINFRAME_FIELDNAME);
+
+        sheet.createRow(r).createCell(0).setCellValue(title);
+        if (mergedRegions) sheet.addMergedRegionUnsafe(new CellRangeAddress(r, r, 0, 3));
+        r++;
+
+        Row banner = sheet.createRow(r);
+        banner.createCell(sunCbsFirst).setCellValue("Sun CBS");
+        banner.createCell(mainframeFirst).setCellValue("Mainframe");
+        if (mergedRegions) {
+            sheet.addMergedRegionUnsafe(new CellRangeAddress(r, r, sunCbsFirst, sunCbsFirst + 3));
+            sheet.addMergedRegionUnsafe(new CellRangeAddress(r, r, mainframeFirst, mainframeFirst + 3));
+        }
+        r++;
+
+        Row header = sheet.createRow(r++);
+        for (int c = 0; c < headers.size(); c++) {
+            header.createCell(c).setCellValue(headers.get(c));
+        }
+
+        for (int i = 0; i < dataRows; i++) {
+            Row row = sheet.createRow(r++);
+            int c = 0;
+            String country = countries.get(i % countries.size());
+            row.createCell(c++).setCellValue(country);
+            for (String cc : countries) {
+                // Roughly one field in eight is optional for its country
+                row.createCell(c++).setCellValue(cc.equals(country) && i % 8 != 7 ? "Y" : "");
+            }
+            for (String cc : countries) {
+                row.createCell(c++).setCellValue(cc.equals(country) && i % 8 != 7 ? "Y" : "");
+            }
+            row.createCell(c++).setCellValue("globalField" + i);
+            row.createCell(c++).setCellValue(i % 5 == 0 ? "Number" : "String");
+            for (String system : new String[]{"suncbs", "mainframe"}) {
+                row.createCell(c++).setCellValue(system + "Field" + i);
+                row.createCell(c++).setCellValue(i % 5 == 0 ? "Number" : "String");
+                boolean custom = i % 10 == 0;
+                row.createCell(c++).setCellValue(custom ? "CUSTOM" : "");
+                row.createCell(c++).setCellValue(custom ? "lookup:" + system + "Field" + i : "");
+            }
+        }
+        return r + 1; // blank row between sections
+    }
+
+    private List<String> headers() {
+        List<String> headers = new ArrayList<>();
+        headers.add(ExcelHeaderConstants.APPLICABLE_COUNTRY);
+        for (String cc : countries) headers.add(cc + " Mandatory");
+        for (String cc : countries) headers.add(cc + " Field Availability");
+        headers.add(ExcelHeaderConstants.GLOBAL_API_FIELDNAME);
+        headers.add(ExcelHeaderConstants.GLOBAL_API_DATATYPE);
+        headers.add(ExcelHeaderConstants.SUNCBS_FIELDNAME);
+        headers.add(ExcelHeaderConstants.SUNCBS_DATATYPE);
+        headers.add(ExcelHeaderConstants.SUNCBS_OPERATION);
+        headers.add(ExcelHeaderConstants.SUNCBS_TRANSFORM_VALUE);
+        headers.add(ExcelHeaderConstants.MAINFRAME_FIELDNAME);
+        headers.add(ExcelHeaderConstants.MAINFRAME_DATATYPE);
+        headers.add(ExcelHeaderConstants.MAINFRAME_OPERATION);
+        headers.add(ExcelHeaderConstants.MAINFRAME_TRANSFORM_VALUE);
+        return headers;
+    }
+}
@@ -0,0 +1,82 @@
+package com.dbs.plugin.service;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.util.*;
+
+/**
+ * Cell-coordinate lookup over the merged regions of one sheet, built once per scan.
+ * Every covered row keeps its regions sorted by first column, so resolving a cell is a hash lookup on the row
+ * plus a binary search over the handful of regions on that row, instead of a scan over every region in the sheet.
+ */
+public final class MergedRegionIndex {
+
+    private static final MergedRegionIndex EMPTY = new MergedRegionIndex(Collections.emptyMap(), 0);
+
+    private final Map<Integer, RowSpans> rows;
+    private final int regionCount;
+
+    private MergedRegionIndex(Map<Integer, RowSpans> rows, int regionCount) {
+        this.rows = rows;
+        this.regionCount = regionCount;
+    }
+
+    public static MergedRegionIndex of(List<CellRangeAddress> regions) {
+        if (regions == null || regions.isEmpty()) return EMPTY;
+
+        Map<Integer, List<CellRangeAddress>> byRow = new HashMap<>();
+        for (CellRangeAddress region : regions) {
+            for (int r = region.getFirstRow(); r <= region.getLastRow(); r++) {
+                byRow.computeIfAbsent(r, k -> new ArrayList<>()).add(region);
+            }
+        }
+
+        Map<Integer, RowSpans> rows = new HashMap<>(byRow.size() * 2);
+        for (Map.Entry<Integer, List<CellRangeAddress>> entry : byRow.entrySet()) {
+            rows.put(entry.getKey(), new RowSpans(entry.getValue()));
+        }
+        return new MergedRegionIndex(rows, regions.size());
+    }
+
+    /** The merged region covering the cell, or {@code null} when the cell is not merged. */
+    public CellRangeAddress find(int rowIdx, int colIdx) {
+        RowSpans spans = rows.get(rowIdx);
+        return spans == null ? null : spans.find(colIdx);
+    }
+
+    public boolean isEmpty() {
+        return regionCount == 0;
+    }
+
+    public int size() {
+        return regionCount;
+    }
+
+    /** Regions intersecting one row; merged regions never overlap, so their column spans are disjoint. */
+    private static final class RowSpans {
+
+        private final int[] firstCols;
+        private final int[] lastCols;
+        private final CellRangeAddress[] regions;
+
+        RowSpans(List<CellRangeAddress> list) {
+            list.sort(Comparator.comparingInt(CellRangeAddress::getFirstColumn));
+            int n = list.size();
+            firstCols = new int[n];
+            lastCols = new int[n];
+            regions = new CellRangeAddress[n];
+            for (int i = 0; i < n; i++) {
+                CellRangeAddress region = list.get(i);
+                firstCols[i] = region.getFirstColumn();
+                lastCols[i] = region.getLastColumn();
+                regions[i] = region;
+            }
+        }
+
+        CellRangeAddress find(int colIdx) {
+            int pos = Arrays.binarySearch(firstCols, colIdx);
+            if (pos < 0) pos = -pos - 2; // last region starting before colIdx
+            return pos >= 0 && colIdx <= lastCols[pos] ? regions[pos] : null;
+        }
+    }
+}
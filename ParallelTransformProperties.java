@@ -0,0 +1,27 @@
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "transform.parallel")
+public class ParallelTransformProperties {
+
+    /** Master switch; off by default, arrays are transformed on the request thread */
+    private boolean enabled = false;
+
+    /** Top-level source arrays with at least this many elements are split across the fork-join pool */
+    private int threshold = 1000;
+
+    /** Elements per task; each task builds its own target chunk, merged back in element order. At least 1 */
+    private int chunkSize = 250;
+
+    public void setChunkSize(int chunkSize) {
+        // 0 or less would never advance the chunk loop
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public boolean shouldSplit(int size) {
+        return enabled && size >= threshold && size > chunkSize;
+    }
+}
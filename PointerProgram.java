@@ -0,0 +1,264 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A JSON pointer tokenized once into field, index and wildcard steps.
+ * Wildcards are numbered left to right; at run time the caller passes one array index per wildcard
+ * ({@code bindings[k]} for the k-th {@code *}) instead of rewriting the pointer string for every element.
+ * Tokens are unescaped ({@code ~1} to '/', {@code ~0} to '~') at compile time.
+ */
+public final class PointerProgram {
+
+    static final byte FIELD = 0;
+    static final byte INDEX = 1;
+    static final byte WILDCARD = 2;
+
+    private static final int[] NO_BINDINGS = new int[0];
+
+    private final String pointer;
+    private final byte[] kinds;
+    private final String[] names;
+    private final int[] indexes;
+    /** Token position of each wildcard, in order. */
+    private final int[] wildcards;
+    /** Binding slot of each token; only meaningful for wildcard tokens. */
+    private final int[] slots;
+
+    private PointerProgram(String pointer, byte[] kinds, String[] names, int[] indexes, int[] wildcards, int[] slots) {
+        this.pointer = pointer;
+        this.kinds = kinds;
+        this.names = names;
+        this.indexes = indexes;
+        this.wildcards = wildcards;
+        this.slots = slots;
+    }
+
+    public static PointerProgram compile(String pointer) {
+        if (pointer == null || !pointer.startsWith("/")) {
+            throw new IllegalArgumentException("Invalid JSON Pointer: " + pointer);
+        }
+
+        List<String> tokens = new ArrayList<>();
+        int start = 1;
+        while (true) {
+            int slash = pointer.indexOf('/', start);
+            if (slash < 0) {
+                tokens.add(pointer.substring(start));
+                break;
+            }
+            tokens.add(pointer.substring(start, slash));
+            start = slash + 1;
+        }
+
+        int n = tokens.size();
+        byte[] kinds = new byte[n];
+        String[] names = new String[n];
+        int[] indexes = new int[n];
+        int[] wildcards = new int[n];
+        int[] slots = new int[n];
+        int wildcardCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            String raw = tokens.get(i);
+            if ("*".equals(raw)) {
+                kinds[i] = WILDCARD;
+                names[i] = raw;
+                slots[i] = wildcardCount;
+                wildcards[wildcardCount++] = i;
+            } else if (isIndexToken(raw)) {
+                kinds[i] = INDEX;
+                names[i] = raw;
+                indexes[i] = Integer.parseInt(raw);
+            } else {
+                kinds[i] = FIELD;
+                names[i] = raw.indexOf('~') < 0 ? raw : raw.replace("~1", "/").replace("~0", "~");
+            }
+        }
+        return new PointerProgram(pointer, kinds, names, indexes, Arrays.copyOf(wildcards, wildcardCount), slots);
+    }
+
+    private static boolean isIndexToken(String token) {
+        if (token.isEmpty() || token.length() > 9) return false;
+        for (int i = 0; i < token.length(); i++) {
+            char ch = token.charAt(i);
+            if (ch < '0' || ch > '9') return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return kinds.length;
+    }
+
+    public int wildcardCount() {
+        return wildcards.length;
+    }
+
+    /** Token position of the {@code level}-th wildcard. */
+    public int wildcardToken(int level) {
+        return wildcards[level];
+    }
+
+    public boolean isField(int t) {
+        return kinds[t] == FIELD;
+    }
+
+    public boolean isWildcard(int t) {
+        return kinds[t] == WILDCARD;
+    }
+
+    public boolean isIndex(int t) {
+        return kinds[t] == INDEX;
+    }
+
+    /** Array index of index token {@code t}. */
+    public int index(int t) {
+        return indexes[t];
+    }
+
+    /** Unescaped name of token {@code t}. */
+    public String name(int t) {
+        return names[t];
+    }
+
+    public boolean startsWithWildcard() {
+        return kinds.length > 0 && kinds[0] == WILDCARD;
+    }
+
+    /**
+     * Follows tokens {@code [from, to)} from {@code node}; wildcards read their index from {@code bindings}.
+     * Returns {@code null} when a step is missing.
+     */
+    public JsonNode read(JsonNode node, int from, int to, int[] bindings) {
+        for (int t = from; t < to && node != null; t++) {
+            switch (kinds[t]) {
+                case FIELD -> node = node.isObject() ? node.get(names[t]) : null;
+                case INDEX -> node = node.isArray() ? node.get(indexes[t]) : node.isObject() ? node.get(names[t]) : null;
+                default -> node = node.isArray() ? node.get(bindings[slots[t]]) : null;
+            }
+        }
+        return node;
+    }
+
+    public JsonNode read(JsonNode node) {
+        return read(node, 0, kinds.length, NO_BINDINGS);
+    }
+
+    /**
+     * Sets {@code value} at this pointer under {@code root}, creating missing containers on the way:
+     * an array when the next step is an index or wildcard, an object otherwise.
+     */
+    public void write(JsonNode root, JsonNode value, int[] bindings, JsonNodeFactory factory) {
+        writeFrom(root, 0, value, bindings, factory);
+    }
+
+    /** Like {@link #write}, but {@code node} is the container already reached by tokens {@code [0, from)}. */
+    public void writeFrom(JsonNode node, int from, JsonNode value, int[] bindings, JsonNodeFactory factory) {
+        int last = kinds.length - 1;
+        JsonNode current = container(node, from, last, bindings, factory);
+
+        if (current instanceof ObjectNode objectNode) {
+            objectNode.set(objectKey(last), value);
+        } else if (current instanceof ArrayNode arrayNode) {
+            int index = arrayIndex(last, bindings);
+            pad(arrayNode, index);
+            arrayNode.set(index, value);
+        } else {
+            throw new TransformationException(
+                "Unexpected node type at final pointer step: " + current.getNodeType()
+            );
+        }
+    }
+
+    /**
+     * Follows tokens {@code [from, to)} from {@code node}, creating missing containers, and returns the container
+     * that token {@code to} will be applied to.
+     */
+    public JsonNode container(JsonNode node, int from, int to, int[] bindings, JsonNodeFactory factory) {
+        JsonNode current = node;
+        for (int t = from; t < to; t++) {
+            boolean nextIsArray = kinds[t + 1] != FIELD;
+            if (current instanceof ObjectNode objectNode) {
+                String name = objectKey(t);
+                JsonNode child = objectNode.get(name);
+                if (child == null || child.isNull() || child.isMissingNode()) {
+                    child = nextIsArray ? factory.arrayNode() : factory.objectNode();
+                    objectNode.set(name, child);
+                }
+                current = child;
+            } else if (current instanceof ArrayNode arrayNode) {
+                int index = arrayIndex(t, bindings);
+                pad(arrayNode, index);
+                JsonNode child = arrayNode.get(index);
+                if (child == null || child.isNull() || child.isMissingNode()) {
+                    child = nextIsArray ? factory.arrayNode() : factory.objectNode();
+                    arrayNode.set(index, child);
+                }
+                current = child;
+            } else {
+                throw new TransformationException(
+                    "Unexpected node type while traversing pointer: " + current.getNodeType()
+                );
+            }
+        }
+        return current;
+    }
+
+    /** Tokens {@code [from, to)} as pointer text, used to group programs that share a prefix. */
+    public String segment(int from, int to) {
+        StringBuilder sb = new StringBuilder();
+        for (int t = from; t < to; t++) {
+            sb.append('/').append(kinds[t] == FIELD ? names[t].replace("~", "~0").replace("/", "~1") : names[t]);
+        }
+        return sb.toString();
+    }
+
+    public void write(JsonNode root, JsonNode value, JsonNodeFactory factory) {
+        write(root, value, NO_BINDINGS, factory);
+    }
+
+    private String objectKey(int t) {
+        if (kinds[t] == WILDCARD) {
+            throw new TransformationException(
+                "Illegal pointer token '*' in " + pointer + ". Wildcards must be bound to an index before writing."
+            );
+        }
+        return names[t];
+    }
+
+    private int arrayIndex(int t, int[] bindings) {
+        switch (kinds[t]) {
+            case INDEX:
+                return indexes[t];
+            case WILDCARD:
+                int slot = slots[t];
+                if (slot >= bindings.length) {
+                    throw new TransformationException(
+                        "Illegal pointer token '*' in " + pointer + ". Wildcards must be bound to an index before writing."
+                    );
+                }
+                return bindings[slot];
+            default:
+                throw new TransformationException(
+                    "Array step expects an index but got '" + names[t] + "' in " + pointer
+                );
+        }
+    }
+
+    private static void pad(ArrayNode arrayNode, int index) {
+        while (arrayNode.size() <= index) {
+            arrayNode.addNull();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return pointer;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Compiled source/target pointer pair of an array-projection field mapping.
+ * Both sides must have the same number of wildcards; the k-th source wildcard binds the k-th target wildcard.
+ * Plans are compiled once per field mapping instance (see {@link #precompile}) and shared by all requests; they are
+ * held weakly by field, so the plans of a reloaded config go with it.
+ */
+public final class ProjectionPlan {
+
+    private static final IdentityCache<FieldMapping, ProjectionPlan> CACHE = new IdentityCache<>();
+
+    private final PointerProgram source;
+    private final PointerProgram target;
+
+    private ProjectionPlan(PointerProgram source, PointerProgram target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    /** Compiles the pair, rejecting mismatched wildcard depth up front instead of on every recursion. */
+    public static ProjectionPlan compile(String sourcePointer, String targetPointer) {
+        PointerProgram source = PointerProgram.compile(sourcePointer);
+        PointerProgram target = PointerProgram.compile(targetPointer);
+        if (source.wildcardCount() != target.wildcardCount()) {
+            throw new TransformationException(String.format(
+                "Failed on field mapping: %s -> %s, error: source and target must have same number of levels of dynamic arrays (*)",
+                sourcePointer, targetPointer));
+        }
+        return new ProjectionPlan(source, target);
+    }
+
+    /** Cached plan for the field's pointers. */
+    public static ProjectionPlan of(FieldMapping field) {
+        ProjectionPlan plan = CACHE.get(field);
+        if (plan == null) {
+            plan = CACHE.putIfAbsent(field, compile(field.getSourcePointer(), field.getTargetPointer()));
+        }
+        return plan;
+    }
+
+    /** Compiles every wildcard field of the config; call at config load so bad mappings fail there. */
+    public static void precompile(MappingConfig config) {
+        if (config.getMappedFields() == null) return;
+        for (FieldMapping field : config.getMappedFields()) {
+            String sourcePointer = field.getSourcePointer();
+            String targetPointer = field.getTargetPointer();
+            if (sourcePointer != null && targetPointer != null
+                    && (sourcePointer.contains("*") || targetPointer.contains("*"))) {
+                of(field);
+            }
+        }
+    }
+
+    public PointerProgram source() {
+        return source;
+    }
+
+    public PointerProgram target() {
+        return target;
+    }
+
+    /** Number of wildcard levels, i.e. the length of the bindings array. */
+    public int depth() {
+        return source.wildcardCount();
+    }
+}
@@ -0,0 +1,287 @@
+package com.dbs.plugin.service;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Reads one sheet of an .xlsx workbook row by row straight from the sheet XML, without building the POI usermodel.
+ * Only the current row, the shared strings table and the anchor values of merged regions are held in memory.
+ * Cell text matches what the usermodel path reads after {@code setCellType(STRING)}: shared and inline strings
+ * resolve to their text, booleans become {@code TRUE}/{@code FALSE} and everything else keeps its stored value.
+ */
+class StreamingMappingSheetReader implements MappingSheetScanner.SheetRows, AutoCloseable {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final OPCPackage pkg;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final InputStream sheetStream;
+    private final XMLStreamReader xml;
+    private final Map<Integer, List<CellRangeAddress>> mergedByFirstRow;
+    private final Map<CellRangeAddress, String> mergedAnchorValues = new HashMap<>();
+    private final MergedRegionIndex mergedIndex;
+    private final StreamedRow row = new StreamedRow();
+
+    private StreamingMappingSheetReader(OPCPackage pkg, ReadOnlySharedStringsTable sharedStrings,
+                                        InputStream sheetStream, List<CellRangeAddress> mergedRegions)
+            throws XMLStreamException {
+        this.pkg = pkg;
+        this.sharedStrings = sharedStrings;
+        this.sheetStream = sheetStream;
+        this.xml = XML_INPUT_FACTORY.createXMLStreamReader(sheetStream);
+        this.mergedIndex = MergedRegionIndex.of(mergedRegions);
+        this.mergedByFirstRow = new HashMap<>();
+        for (CellRangeAddress region : mergedRegions) {
+            mergedByFirstRow.computeIfAbsent(region.getFirstRow(), k -> new ArrayList<>()).add(region);
+        }
+    }
+
+    /** Opens the named sheet, or returns {@code null} when the workbook has no such sheet. */
+    static StreamingMappingSheetReader open(File excelFile, String sheetName) throws Exception {
+        OPCPackage pkg = OPCPackage.open(excelFile, PackageAccess.READ);
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+
+            // <mergeCells> follows <sheetData>, so collect the regions in a light pre-pass before streaming rows
+            List<CellRangeAddress> mergedRegions;
+            try (InputStream in = openSheet(reader, sheetName)) {
+                if (in == null) {
+                    pkg.revert();
+                    return null;
+                }
+                mergedRegions = readMergedRegions(in);
+            }
+
+            InputStream sheetStream = openSheet(reader, sheetName);
+            return new StreamingMappingSheetReader(pkg, new ReadOnlySharedStringsTable(pkg), sheetStream, mergedRegions);
+        } catch (Exception e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
+    /** Sheet names in workbook order. */
+    static List<String> listSheets(File excelFile) throws Exception {
+        OPCPackage pkg = OPCPackage.open(excelFile, PackageAccess.READ);
+        try {
+            List<String> names = new ArrayList<>();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream in = sheets.next()) {
+                    names.add(sheets.getSheetName());
+                }
+            }
+            return names;
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    private static InputStream openSheet(XSSFReader reader, String sheetName) throws Exception {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream in = sheets.next();
+            if (sheetName.equals(sheets.getSheetName())) {
+                return in;
+            }
+            in.close();
+        }
+        return null;
+    }
+
+    private static List<CellRangeAddress> readMergedRegions(InputStream in) throws XMLStreamException {
+        List<CellRangeAddress> regions = new ArrayList<>();
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "mergeCell".equals(xml.getLocalName())) {
+                    String ref = xml.getAttributeValue(null, "ref");
+                    if (ref != null) {
+                        regions.add(CellRangeAddress.valueOf(ref));
+                    }
+                }
+            }
+        } finally {
+            xml.close();
+        }
+        return regions;
+    }
+
+    @Override
+    public MappingRow next() throws XMLStreamException {
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                readRow();
+                if (row.lastCellNum > 0) {
+                    rememberMergedAnchors();
+                    return row;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /** Anchor cells are only visible while their row is current, so keep their values for later header rows. */
+    private void rememberMergedAnchors() {
+        List<CellRangeAddress> regions = mergedByFirstRow.get(row.rowIndex);
+        if (regions == null) return;
+        for (CellRangeAddress region : regions) {
+            mergedAnchorValues.put(region, row.getValue(region.getFirstColumn()));
+        }
+    }
+
+    private void readRow() throws XMLStreamException {
+        String r = xml.getAttributeValue(null, "r");
+        row.reset(r != null ? Integer.parseInt(r) - 1 : row.rowIndex + 1);
+
+        int nextCol = 0;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                nextCol = readCell(nextCol) + 1;
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return;
+            }
+        }
+    }
+
+    private int readCell(int defaultCol) throws XMLStreamException {
+        String ref = xml.getAttributeValue(null, "r");
+        String type = xml.getAttributeValue(null, "t");
+        int col = ref != null ? columnIndex(ref) : defaultCol;
+
+        String value = null;
+        StringBuilder inline = null;
+        boolean formula = false;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    value = xml.getElementText();
+                } else if ("f".equals(name)) {
+                    formula = true;
+                    xml.getElementText();
+                } else if ("t".equals(name)) {
+                    if (inline == null) inline = new StringBuilder();
+                    inline.append(xml.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+
+        String text;
+        boolean isString = false;
+        if ("s".equals(type)) {
+            text = value == null ? "" : sharedStrings.getItemAt(Integer.parseInt(value.trim())).getString();
+            isString = true;
+        } else if ("inlineStr".equals(type)) {
+            text = inline == null ? "" : inline.toString();
+            isString = true;
+        } else if ("b".equals(type)) {
+            text = value == null ? "" : ("1".equals(value.trim()) ? "TRUE" : "FALSE");
+        } else {
+            text = value == null ? "" : value;
+            isString = "str".equals(type) && !formula;
+        }
+
+        row.set(col, text, isString);
+        return col;
+    }
+
+    /** Column part of an A1-style reference, zero-based. */
+    private static int columnIndex(String ref) {
+        int col = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char ch = ref.charAt(i);
+            if (ch < 'A' || ch > 'Z') break;
+            col = col * 26 + (ch - 'A' + 1);
+        }
+        return col - 1;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            xml.close();
+            sheetStream.close();
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    /** Sparse, reusable row buffer. */
+    private final class StreamedRow implements MappingRow {
+
+        private int rowIndex = -1;
+        private int lastCellNum;
+        private String[] values = new String[32];
+        private boolean[] strings = new boolean[32];
+
+        void reset(int rowIndex) {
+            Arrays.fill(values, 0, Math.max(lastCellNum, 0), null);
+            Arrays.fill(strings, 0, Math.max(lastCellNum, 0), false);
+            this.rowIndex = rowIndex;
+            this.lastCellNum = -1;
+        }
+
+        void set(int col, String text, boolean isString) {
+            if (col >= values.length) {
+                int size = Math.max(values.length * 2, col + 1);
+                values = Arrays.copyOf(values, size);
+                strings = Arrays.copyOf(strings, size);
+            }
+            values[col] = text;
+            strings[col] = isString;
+            lastCellNum = Math.max(lastCellNum, col + 1);
+        }
+
+        @Override
+        public int getRowIndex() {
+            return rowIndex;
+        }
+
+        @Override
+        public int getLastCellNum() {
+            return lastCellNum;
+        }
+
+        @Override
+        public String getStringCell(int colIndex) {
+            return colIndex >= 0 && colIndex < lastCellNum && strings[colIndex] ? values[colIndex] : null;
+        }
+
+        @Override
+        public String getValue(int colIndex) {
+            if (colIndex < 0 || colIndex >= lastCellNum || values[colIndex] == null) return "";
+            return values[colIndex].trim();
+        }
+
+        @Override
+        public String getMergedValue(int colIndex) {
+            CellRangeAddress region = mergedIndex.find(rowIndex, colIndex);
+            return region == null ? getValue(colIndex) : mergedAnchorValues.getOrDefault(region, "");
+        }
+    }
+}
@@ -0,0 +1,433 @@
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tree-free execution of a mapping: source tokens are read from a {@link JsonParser} and target tokens are written to a
+ * {@link JsonGenerator} directly, without building either document as a {@link JsonNode} tree.
+ * <p>
+ * Only the common subset is streamed: straight renames, wildcard arrays ({@code /a/*}{@code /b} to {@code /x/*}{@code /y}
+ * shapes, one field name between wildcards), type conversion and operations, and custom transformers inside array
+ * elements whose beans implement {@link Stateless}. Each of those elements is materialized on its own (never the whole
+ * document) so the transformer sees the same element node as in the tree engine.
+ * A mapping that uses anything else (dependencies, indexes, multi-step paths, root-level custom transformers, a
+ * source key feeding both a value and an array, ...) is planned as non-streamable and
+ * {@link #transform(JsonParser, JsonGenerator, MappingConfig)} falls back to the tree engine for it.
+ * <p>
+ * Target keys are written in source order rather than mapping order; values are otherwise the same as the tree engine,
+ * including null padding of array elements that receive no value and creation of nested target arrays.
+ */
+public final class StreamingTransformer {
+
+    /** Marker for custom transformers whose result depends only on the element, field and config passed in. */
+    public interface Stateless {
+    }
+
+    /** What the streaming engine borrows from the tree engine. */
+    public interface Engine {
+
+        ObjectMapper mapper();
+
+        /** The tree engine, used for mappings that cannot be streamed. */
+        JsonNode transformTree(JsonNode source, MappingConfig config);
+
+        /** Operation handling and data type conversion of one leaf value, as the tree engine applies them. */
+        JsonNode postProcess(JsonNode value, FieldMapping field);
+
+        /** Data type conversion only, as the tree engine applies it to custom transformer results. */
+        JsonNode convert(JsonNode value, FieldMapping field);
+
+        TransformerHandles.Handle transformer(String beanName);
+    }
+
+    private final Engine engine;
+    private final ObjectMapper mapper;
+    /** Per config instance, by identity and held weakly, so reloaded configs are not kept alive. */
+    private final IdentityCache<MappingConfig, Plan> plans = new IdentityCache<>();
+
+    public StreamingTransformer(Engine engine) {
+        this.engine = engine;
+        this.mapper = engine.mapper();
+    }
+
+    /**
+     * Transforms the value at the parser's next token (or current token, if one is already read) into {@code out}.
+     * Streams when the mapping and the source root allow it, otherwise reads the source tree and runs the tree engine.
+     */
+    public void transform(JsonParser in, JsonGenerator out, MappingConfig config) throws IOException {
+        JsonToken first = in.hasCurrentToken() ? in.currentToken() : in.nextToken();
+        if (first == null) {
+            throw new TransformationException("Empty source document");
+        }
+
+        Plan plan = plan(config);
+        if (!plan.streamable() || first != JsonToken.START_OBJECT) {
+            JsonNode source = mapper.readTree(in);
+            mapper.writeTree(out, engine.transformTree(source, config));
+            return;
+        }
+
+        LazyWriter writer = new LazyWriter(out);
+        writer.openObject(null);
+        writer.touch();
+        streamObject(in, plan.root, writer, config, null);
+        writer.close();
+        out.flush();
+    }
+
+    /** Whether {@code config} runs on the streaming path; compiles its plan, so call it at config load. */
+    public boolean isStreamable(MappingConfig config) {
+        return plan(config).streamable();
+    }
+
+    /** Why {@code config} falls back to the tree engine, or {@code null} when it streams. */
+    public String fallbackReason(MappingConfig config) {
+        return plan(config).fallbackReason;
+    }
+
+    private Plan plan(MappingConfig config) {
+        Plan plan = plans.get(config);
+        if (plan == null) {
+            plan = plans.putIfAbsent(config, Plan.compile(config, this));
+        }
+        return plan;
+    }
+
+    // parser is on the START_OBJECT of a source object, element is its tree when the plan has custom fields
+    private void streamObject(JsonParser in, ObjectPlan plan, LazyWriter out, MappingConfig config, JsonNode element)
+            throws IOException {
+        while (in.nextToken() == JsonToken.FIELD_NAME) {
+            Step step = plan.bySourceKey.get(in.currentName());
+            JsonToken token = in.nextToken();
+            if (step == null) {
+                in.skipChildren();
+                continue;
+            }
+
+            if (step.element != null) {
+                if (token == JsonToken.START_ARRAY) {
+                    streamArray(in, step, out, config);
+                } else {
+                    in.skipChildren();
+                }
+                continue;
+            }
+
+            if (token == JsonToken.VALUE_NULL) continue;
+            JsonNode value = mapper.readTree(in);
+            for (int i = 0; i < step.leaves.length; i++) {
+                writeLeaf(out, step.targetKeys[i], step.leaves[i], value);
+            }
+        }
+
+        applyCustoms(plan, out, config, element);
+    }
+
+    private void applyCustoms(ObjectPlan plan, LazyWriter out, MappingConfig config, JsonNode element)
+            throws IOException {
+        for (CustomLeaf custom : plan.customLeaves) {
+            JsonNode value = custom.transformer.apply(element, custom.localField, config);
+            if (value == null || value.isNull()) continue;
+            // transformer results are converted but never go through the field's operation
+            writeValue(out, custom.targetKey, engine.convert(value, custom.field));
+        }
+    }
+
+    // parser is on the START_ARRAY of the source array
+    private void streamArray(JsonParser in, Step step, LazyWriter out, MappingConfig config) throws IOException {
+        ObjectPlan elementPlan = step.element;
+        out.openArray(step.arrayKey);
+
+        JsonToken token = in.nextToken();
+        if (token != JsonToken.END_ARRAY && elementPlan.level > 1) {
+            // nested target arrays exist as soon as the source array has elements, as in the tree engine
+            out.touch();
+        }
+        for (; token != JsonToken.END_ARRAY; token = in.nextToken()) {
+            if (elementPlan.customLeaves.length == 0) {
+                if (token != JsonToken.START_OBJECT) {
+                    in.skipChildren();
+                    out.skipElement();
+                    continue;
+                }
+                out.openObject(null);
+                streamObject(in, elementPlan, out, config, null);
+                out.close();
+                continue;
+            }
+
+            // custom transformers get the element node, whatever its type, like the tree engine
+            JsonNode element = mapper.readTree(in);
+            out.openObject(null);
+            if (element.isObject()) {
+                try (JsonParser elementParser = element.traverse(mapper)) {
+                    elementParser.nextToken();
+                    streamObject(elementParser, elementPlan, out, config, element);
+                }
+            } else {
+                applyCustoms(elementPlan, out, config, element);
+            }
+            out.close();
+        }
+        out.close();
+    }
+
+    private void writeLeaf(LazyWriter out, String targetKey, FieldMapping field, JsonNode value) throws IOException {
+        writeValue(out, targetKey, engine.postProcess(value, field));
+    }
+
+    private void writeValue(LazyWriter out, String targetKey, JsonNode finalValue) throws IOException {
+        if (finalValue == null) return;
+        out.field(targetKey);
+        mapper.writeTree(out.generator(), finalValue);
+    }
+
+    /** Compiled form of one mapping: per source object level, what each source key turns into. */
+    private static final class Plan {
+
+        private final ObjectPlan root;
+        private final String fallbackReason;
+
+        private Plan(ObjectPlan root, String fallbackReason) {
+            this.root = root;
+            this.fallbackReason = fallbackReason;
+        }
+
+        boolean streamable() {
+            return fallbackReason == null;
+        }
+
+        static Plan compile(MappingConfig config, StreamingTransformer owner) {
+            ObjectPlan root = new ObjectPlan(0);
+            List<FieldMapping> fields = config.getMappedFields() == null ? List.of() : config.getMappedFields();
+            try {
+                for (FieldMapping field : fields) {
+                    String reason = add(root, field, owner);
+                    if (reason != null) {
+                        return new Plan(null, field.getSourcePointer() + " -> " + field.getTargetPointer() + ": " + reason);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // let the tree engine report invalid mappings the way it always has
+                return new Plan(null, e.getMessage());
+            }
+            root.freeze();
+            return new Plan(root, null);
+        }
+
+        // adds the field to the plan, or returns why it cannot be streamed
+        private static String add(ObjectPlan root, FieldMapping field, StreamingTransformer owner) {
+            if (field.getSourcePointer() == null || field.getTargetPointer() == null) return "missing pointer";
+            if (field.getDependencies() != null && !field.getDependencies().isEmpty()) return "dependencies";
+
+            ProjectionPlan projection = ProjectionPlan.of(field);
+            PointerProgram source = projection.source();
+            PointerProgram target = projection.target();
+            if (!alternates(source) || !alternates(target)) return "only /field(/*/field)* pointers are streamed";
+
+            TransformerHandles.Handle transformer = null;
+            if (field.getCustomTransformer() != null) {
+                if (projection.depth() == 0) return "custom transformer outside an array";
+                transformer = owner.engine.transformer(field.getCustomTransformer());
+                if (!(transformer.bean() instanceof Stateless)) return "custom transformer is not StreamingTransformer.Stateless";
+            }
+
+            ObjectPlan plan = root;
+            for (int level = 0; level < projection.depth(); level++) {
+                String sourceKey = source.name(2 * level);
+                String targetKey = target.name(2 * level);
+                Step step = plan.bySourceKey.get(sourceKey);
+                if (step == null) {
+                    if (plan.targetKeys.containsKey(targetKey)) return "target key '" + targetKey + "' written twice";
+                    step = Step.array(targetKey, new ObjectPlan(level + 1));
+                    plan.bySourceKey.put(sourceKey, step);
+                    plan.targetKeys.put(targetKey, sourceKey);
+                } else if (step.element == null || !step.arrayKey.equals(targetKey)) {
+                    return "source key '" + sourceKey + "' feeds more than one target";
+                }
+                plan = step.element;
+            }
+
+            String sourceKey = source.name(source.size() - 1);
+            String targetKey = target.name(target.size() - 1);
+            if (plan.targetKeys.containsKey(targetKey)) return "target key '" + targetKey + "' written twice";
+            plan.targetKeys.put(targetKey, sourceKey);
+
+            if (transformer != null) {
+                plan.customs.add(new CustomLeaf(targetKey, field, localField(field, sourceKey), transformer));
+                return null;
+            }
+            Step step = plan.bySourceKey.get(sourceKey);
+            if (step == null) {
+                plan.bySourceKey.put(sourceKey, Step.leaf(targetKey, field));
+            } else if (step.element != null) {
+                return "source key '" + sourceKey + "' is both an array and a value";
+            } else {
+                step.addLeaf(targetKey, field);
+            }
+            return null;
+        }
+
+        // field, *, field, *, ..., field
+        private static boolean alternates(PointerProgram pointer) {
+            if (pointer.size() % 2 == 0) return false;
+            for (int t = 0; t < pointer.size(); t++) {
+                if (t % 2 == 0 ? !pointer.isField(t) : !pointer.isWildcard(t)) return false;
+            }
+            return true;
+        }
+
+        // same relative source pointer the tree engine hands to per-element custom transformers
+        private static FieldMapping localField(FieldMapping origField, String sourceKey) {
+            FieldMapping localField = new FieldMapping();
+            localField.setSourcePointer("/" + sourceKey.replace("~", "~0").replace("/", "~1"));
+            localField.setTargetPointer(origField.getTargetPointer());
+            localField.setTargetDataType(origField.getTargetDataType());
+            localField.setOperationType(origField.getOperationType());
+            localField.setCustomData(origField.getCustomData());
+            localField.setCustomTransformer(origField.getCustomTransformer());
+            localField.setCustomMap(origField.getCustomMap());
+            return localField;
+        }
+    }
+
+    /** One source object level: the source root (level 0), or an element of the {@code level}-th nested array. */
+    private static final class ObjectPlan {
+
+        private final int level;
+        private final Map<String, Step> bySourceKey = new HashMap<>();
+        private final Map<String, String> targetKeys = new HashMap<>();
+        private final List<CustomLeaf> customs = new ArrayList<>();
+        private CustomLeaf[] customLeaves;
+
+        private ObjectPlan(int level) {
+            this.level = level;
+        }
+
+        private void freeze() {
+            customLeaves = customs.toArray(new CustomLeaf[0]);
+            for (Step step : bySourceKey.values()) {
+                if (step.element != null) step.element.freeze();
+            }
+        }
+    }
+
+    /** What one source key produces: either leaf values under one or more target keys, or a target array. */
+    private static final class Step {
+
+        private String[] targetKeys;
+        private FieldMapping[] leaves;
+        private String arrayKey;
+        private ObjectPlan element;
+
+        static Step leaf(String targetKey, FieldMapping field) {
+            Step step = new Step();
+            step.targetKeys = new String[]{targetKey};
+            step.leaves = new FieldMapping[]{field};
+            return step;
+        }
+
+        static Step array(String targetKey, ObjectPlan element) {
+            Step step = new Step();
+            step.arrayKey = targetKey;
+            step.element = element;
+            return step;
+        }
+
+        void addLeaf(String targetKey, FieldMapping field) {
+            int n = leaves.length;
+            targetKeys = Arrays.copyOf(targetKeys, n + 1);
+            leaves = Arrays.copyOf(leaves, n + 1);
+            targetKeys[n] = targetKey;
+            leaves[n] = field;
+        }
+    }
+
+    private record CustomLeaf(String targetKey, FieldMapping field, FieldMapping localField,
+                              TransformerHandles.Handle transformer) {
+    }
+
+    /**
+     * Generator front that opens target containers only when something is written into them, so empty source arrays
+     * and elements leave no trace, and elements that receive nothing become {@code null} only when a later element
+     * of the same array is written (the tree engine pads with nulls but never appends trailing ones).
+     */
+    private static final class LazyWriter {
+
+        private final JsonGenerator gen;
+        private final List<Frame> frames = new ArrayList<>();
+
+        LazyWriter(JsonGenerator gen) {
+            this.gen = gen;
+        }
+
+        JsonGenerator generator() {
+            return gen;
+        }
+
+        void openObject(String name) {
+            frames.add(new Frame(name, false));
+        }
+
+        void openArray(String name) {
+            frames.add(new Frame(name, true));
+        }
+
+        /** Forces the innermost container (and its parents) to exist. */
+        void touch() throws IOException {
+            int i = frames.size() - 1;
+            while (i > 0 && !frames.get(i - 1).opened) i--;
+            for (; i < frames.size(); i++) {
+                Frame frame = frames.get(i);
+                if (frame.opened) continue;
+                if (i > 0) {
+                    Frame parent = frames.get(i - 1);
+                    for (; parent.pendingNulls > 0; parent.pendingNulls--) gen.writeNull();
+                }
+                if (frame.name != null) gen.writeFieldName(frame.name);
+                if (frame.array) gen.writeStartArray(); else gen.writeStartObject();
+                frame.opened = true;
+            }
+        }
+
+        void field(String name) throws IOException {
+            touch();
+            gen.writeFieldName(name);
+        }
+
+        /** A non-object element of the innermost array: nothing is written for it, but it keeps its index. */
+        void skipElement() {
+            frames.get(frames.size() - 1).pendingNulls++;
+        }
+
+        void close() throws IOException {
+            Frame frame = frames.remove(frames.size() - 1);
+            if (frame.opened) {
+                if (frame.array) gen.writeEndArray(); else gen.writeEndObject();
+            } else if (!frames.isEmpty() && frames.get(frames.size() - 1).array) {
+                frames.get(frames.size() - 1).pendingNulls++;
+            }
+        }
+
+        private static final class Frame {
+            final String name;
+            final boolean array;
+            boolean opened;
+            int pendingNulls;
+
+            Frame(String name, boolean array) {
+                this.name = name;
+                this.array = array;
+            }
+        }
+    }
+}
@@ -3,156 +3,127 @@ package com.dbs.plugin.service;
 import com.dbs.plugin.constants.ExcelHeaderConstants;
 import com.dbs.plugin.model.ApiField;
 import com.dbs.plugin.model.ApiMapping;
-import org.apache.poi.ss.usermodel.*;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.util.*;
 
 public class SunCbsRequestJsonService {
 
-    public Map<String, ApiMapping> extractSunCbsRequestMappings(File excelFile) throws Exception {
-        Map<String, ApiMapping> result = new LinkedHashMap<>();
+    // Header names each data row needs, compiled into a column plan once per section header
+    private static final String[] COLUMNS = {
+            ExcelHeaderConstants.GLOBAL_API_FIELDNAME,
+            ExcelHeaderConstants.GLOBAL_API_DATATYPE,
+            ExcelHeaderConstants.SUNCBS_FIELDNAME,
+            ExcelHeaderConstants.SUNCBS_DATATYPE,
+            ExcelHeaderConstants.SUNCBS_OPERATION,
+            ExcelHeaderConstants.SUNCBS_TRANSFORM_VALUE
+    };
+    private static final int SOURCE = 0, SOURCE_TYPE = 1, TARGET = 2, TARGET_TYPE = 3, OPERATION = 4, TRANSFORM = 5;
+
+    private final List<String> countries;
+
+    public SunCbsRequestJsonService() {
+        this(CountryFilter.DEFAULT_COUNTRIES);
+    }
 
-        try (Workbook workbook = WorkbookFactory.create(new FileInputStream(excelFile))) {
-            Sheet sheet = workbook.getSheet(ExcelHeaderConstants.SHEET_NAME);
-            if (sheet == null) return result;
+    /** Extracts one mapping per section and country; mappings for countries other than SG get a country suffix. */
+    public SunCbsRequestJsonService(Collection<String> countries) {
+        this.countries = CountryFilter.normalize(countries);
+    }
 
-            int headerRowIndex = findHeaderRow(sheet, 0);
-            if (headerRowIndex == -1) return result;
+    public Map<String, ApiMapping> extractSunCbsRequestMappings(File excelFile) throws Exception {
+        return extractSunCbsRequestMappings(excelFile, MappingSheetScanner.ReadMode.DOM);
+    }
 
-            String sectionHeader = findMainHeaderBefore(sheet, headerRowIndex);
-            if (sectionHeader == null) return result;
+    public Map<String, ApiMapping> extractSunCbsRequestMappings(File excelFile, MappingSheetScanner.ReadMode mode) throws Exception {
+        return MappingSheetScanner.scan(excelFile, mode, newListener());
+    }
 
-            // ✅ Fix: Remove ' - Request' with optional spaces and dash
-            String baseName = sectionHeader.replaceAll("\\s*-\\s*Request", "").trim();
-            String mappingId = baseName + "_suncbs_request";
-            String fileName = mappingId + "_transformer.json";
-
-            Row headerRow = sheet.getRow(headerRowIndex);
-            Map<String, Integer> columnMap = buildColumnIndexMap(headerRow);
-
-            List<ApiField> fields = new ArrayList<>();
-
-            for (int i = headerRowIndex + 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-
-                if (rowContainsKeyword(row, "Response")) break;
-
-                String country = getSafeCellValue(row, columnMap.get("Applicable Country"));
-                String mandatory = getSafeCellValue(row, columnMap.get("SG Mandatory"));
-                if (!"SG".equalsIgnoreCase(country) || mandatory == null || mandatory.trim().isEmpty()) continue;
-
-                String source = getSafeCellValue(row, columnMap.get(ExcelHeaderConstants.GLOBAL_API_FIELDNAME));
-                String sourceType = getSafeCellValue(row, columnMap.get(ExcelHeaderConstants.GLOBAL_API_DATATYPE));
-                String target = getSafeCellValue(row, columnMap.get(ExcelHeaderConstants.SUNCBS_FIELDNAME));
-                String targetType = getSafeCellValue(row, columnMap.get(ExcelHeaderConstants.SUNCBS_DATATYPE));
-                String operation = getSafeCellValue(row, columnMap.get(ExcelHeaderConstants.SUNCBS_OPERATION));
-                String transform = getSafeCellValue(row, columnMap.get(ExcelHeaderConstants.SUNCBS_TRANSFORM_VALUE));
-
-                if (
-                        source.equalsIgnoreCase(ExcelHeaderConstants.GLOBAL_API_FIELDNAME) ||
-                                target.equalsIgnoreCase(ExcelHeaderConstants.SUNCBS_FIELDNAME)
-                ) continue;
-
-                if (!source.isEmpty() || !target.isEmpty()) {
-                    transform = transform.replace("\n", "").replace("\r", "").trim();
-                    fields.add(new ApiField(
-                            source,
-                            sourceType.isEmpty() ? null : sourceType,
-                            target,
-                            targetType.isEmpty() ? null : targetType,
-                            operation.isEmpty() ? null : operation,
-                            operation.isEmpty() || transform.isEmpty() ? null : transform
-                    ));
-                }
-            }
+    /** Listener for a shared {@link MappingSheetScanner} pass; collects one mapping per section and country. */
+    public MappingSheetScanner.SectionListener newListener() {
+        return new RequestListener();
+    }
+
+    private class RequestListener implements MappingSheetScanner.SectionListener {
 
-            ApiMapping mapping = new ApiMapping(
-                    mappingId,
-                    baseName,
-                    baseName,
-                    ExcelHeaderConstants.GLOBAL_API_FIELDNAME,
-                    ExcelHeaderConstants.SUNCBS_FIELDNAME,
-                    fields
-            );
+        private final Map<String, ApiMapping> result = new LinkedHashMap<>();
+        private int[] columns;
+        private CountryFilter countryFilter;
+        private List<ApiField>[] fieldsByCountry;
 
-            result.put(fileName, mapping);
+        @Override
+        public MappingSheetScanner.Section getSection() {
+            return MappingSheetScanner.Section.REQUEST;
         }
 
-        return result;
-    }
+        @Override
+        public void onHeader(String sectionHeader, Map<String, Integer> columnMap) {
+            // ✅ Fix: Remove ' - Request' with optional spaces and dash
+            String baseName = sectionHeader.replaceAll("\\s*-\\s*Request", "").trim();
 
-    private Map<String, Integer> buildColumnIndexMap(Row headerRow) {
-        Map<String, Integer> map = new HashMap<>();
-        if (headerRow == null) return map;
-        for (Cell cell : headerRow) {
-            if (cell.getCellType() == CellType.STRING) {
-                String key = cell.getStringCellValue()
-                        .replace('\u00A0', ' ')
-                        .replaceAll("[\\s\\u00A0]+", " ")
-                        .trim();
-                map.put(key, cell.getColumnIndex());
+            this.columns = ColumnProjection.compile(columnMap, COLUMNS);
+            this.countryFilter = CountryFilter.compile(countries, columnMap, "Applicable Country", " Mandatory");
+            this.fieldsByCountry = CountryFilter.newLists(countryFilter.size());
+
+            for (int c = 0; c < countryFilter.size(); c++) {
+                String mappingId = baseName + "_suncbs_request" + countryFilter.idSuffix(c);
+                String fileName = mappingId + "_transformer.json";
+
+                result.put(fileName, new ApiMapping(
+                        mappingId,
+                        baseName,
+                        baseName,
+                        ExcelHeaderConstants.GLOBAL_API_FIELDNAME,
+                        ExcelHeaderConstants.SUNCBS_FIELDNAME,
+                        fieldsByCountry[c]
+                ));
             }
         }
-        return map;
-    }
 
-    private int findHeaderRow(Sheet sheet, int startRow) {
-        for (int i = startRow; i <= sheet.getLastRowNum(); i++) {
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
-            for (Cell cell : row) {
-                if (cell.getCellType() == CellType.STRING &&
-                        cell.getStringCellValue().trim().equalsIgnoreCase(ExcelHeaderConstants.GLOBAL_API_FIELDNAME)) {
-                    return i;
-                }
+        @Override
+        public void onRow(MappingRow row) {
+            long countryMask = countryFilter.match(row);
+            if (countryMask == 0) return;
+
+            String source = getSafeCellValue(row, columns[SOURCE]);
+            String sourceType = getSafeCellValue(row, columns[SOURCE_TYPE]);
+            String target = getSafeCellValue(row, columns[TARGET]);
+            String targetType = getSafeCellValue(row, columns[TARGET_TYPE]);
+            String operation = getSafeCellValue(row, columns[OPERATION]);
+            String transform = getSafeCellValue(row, columns[TRANSFORM]);
+
+            if (
+                    source.equalsIgnoreCase(ExcelHeaderConstants.GLOBAL_API_FIELDNAME) ||
+                            target.equalsIgnoreCase(ExcelHeaderConstants.SUNCBS_FIELDNAME)
+            ) return;
+
+            if (!source.isEmpty() || !target.isEmpty()) {
+                transform = transform.replace("\n", "").replace("\r", "").trim();
+                ApiField field = new ApiField(
+                        source,
+                        sourceType.isEmpty() ? null : sourceType,
+                        target,
+                        targetType.isEmpty() ? null : targetType,
+                        operation.isEmpty() ? null : operation,
+                        operation.isEmpty() || transform.isEmpty() ? null : transform
+                );
+                CountryFilter.addMatching(fieldsByCountry, countryMask, field);
             }
         }
-        return -1;
-    }
 
-    private String findMainHeaderBefore(Sheet sheet, int beforeRow) {
-        for (int i = beforeRow - 1; i >= 0; i--) {
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
-            for (Cell cell : row) {
-                if (cell.getCellType() == CellType.STRING) {
-                    String text = cell.getStringCellValue().trim();
-                    if (text.toLowerCase().contains(ExcelHeaderConstants.REQUEST_MARKER.toLowerCase())) {
-                        return text;
-                    }
-                }
-            }
+        @Override
+        public MappingSheetScanner.SectionListener fork() {
+            return new RequestListener();
         }
-        return null;
-    }
 
-    private boolean rowContainsKeyword(Row row, String keyword) {
-        if (row == null) return false;
-        for (Cell cell : row) {
-            if (cell.getCellType() == CellType.STRING &&
-                    cell.getStringCellValue().toLowerCase().contains(keyword.toLowerCase())) {
-                return true;
-            }
+        @Override
+        public Map<String, ApiMapping> getResult() {
+            return result;
         }
-        return false;
     }
 
-    private String getSafeCellValue(Row row, Integer colIndex) {
-        if (row == null || colIndex == null || colIndex < 0) return "";
-        Cell cell = row.getCell(colIndex);
-        return getCellValue(cell);
-    }
-
-    private String getCellValue(Cell cell) {
-        if (cell == null) return "";
-        try {
-            cell.setCellType(CellType.STRING);
-            return cell.getStringCellValue().trim();
-        } catch (Exception e) {
-            return "";
-        }
+    private String getSafeCellValue(MappingRow row, int colIndex) {
+        if (row == null || colIndex == ColumnProjection.ABSENT) return "";
+        return row.getValue(colIndex);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Target shape of a mapping, compiled once per {@link MappingConfig}: every container along every non-wildcard target
+ * pointer gets a number, and every such field a slot (container number plus key or index).
+ * {@link #set} writes a value at a slot: the pointer is never parsed or split per value, and whether each container is
+ * an object or an array was decided at compile time. The containers themselves are still looked up from the root on
+ * every write, since the array workers and {@code setValueAtPointer} write into the same target in between.
+ * {@link #of} keeps one skeleton per config instance (by identity, held weakly).
+ * <p>
+ * Containers appear only when something is written into them, in write order, as with
+ * {@code setValueAtPointer}; like it, a write fails when a node on the path holds a value other than null. Fields the skeleton does not cover get slot {@code -1} and keep using
+ * {@code setValueAtPointer}: wildcard targets (their arrays are built per element), pointers starting with an index,
+ * and pointers whose shape conflicts with another field's (a leaf at a path another field writes through, or a
+ * container that would have to be both an object and an array).
+ */
+public final class TargetSkeleton {
+
+    private static final int ROOT = 0;
+
+    private static final IdentityCache<MappingConfig, TargetSkeleton> CACHE = new IdentityCache<>();
+
+    /** Parent container of each container; {@code -1} for the root. */
+    private final int[] parents;
+    private final boolean[] arrays;
+    private final String[] names;
+    private final int[] indexes;
+
+    private final int[] slotContainers;
+    private final String[] slotNames;
+    private final int[] slotIndexes;
+    /** Slot of each mapped field by its position in {@code getMappedFields()}. */
+    private final int[] slotByField;
+    /** Slot of each covered field instance. */
+    private final Map<FieldMapping, Integer> slotByInstance;
+
+    private TargetSkeleton(int[] parents, boolean[] arrays, String[] names, int[] indexes,
+                           int[] slotContainers, String[] slotNames, int[] slotIndexes, int[] slotByField,
+                           Map<FieldMapping, Integer> slotByInstance) {
+        this.parents = parents;
+        this.arrays = arrays;
+        this.names = names;
+        this.indexes = indexes;
+        this.slotContainers = slotContainers;
+        this.slotNames = slotNames;
+        this.slotIndexes = slotIndexes;
+        this.slotByField = slotByField;
+        this.slotByInstance = slotByInstance;
+    }
+
+    /** Skeleton of {@code config}, compiled on first use; call at config load to keep that off the request path. */
+    public static TargetSkeleton of(MappingConfig config) {
+        TargetSkeleton skeleton = CACHE.get(config);
+        if (skeleton == null) {
+            skeleton = CACHE.putIfAbsent(config, compile(config));
+        }
+        return skeleton;
+    }
+
+    public static TargetSkeleton compile(MappingConfig config) {
+        List<FieldMapping> fields = config.getMappedFields() == null ? List.of() : config.getMappedFields();
+        PointerProgram[] programs = new PointerProgram[fields.size()];
+
+        // shape of every path any target pointer goes through; wildcard pointers count up to their first '*'
+        Map<String, Boolean> containerKinds = new HashMap<>();
+        Set<String> leafPaths = new HashSet<>();
+        Set<String> conflicts = new HashSet<>();
+        for (int f = 0; f < fields.size(); f++) {
+            String pointer = fields.get(f).getTargetPointer();
+            if (pointer == null || !pointer.startsWith("/")) continue;
+            PointerProgram program = PointerProgram.compile(pointer);
+            programs[f] = program;
+
+            int end = program.wildcardCount() > 0 ? program.wildcardToken(0) : program.size() - 1;
+            for (int t = 0; t < end; t++) {
+                String path = program.segment(0, t + 1);
+                Boolean array = !program.isField(t + 1);
+                Boolean previous = containerKinds.putIfAbsent(path, array);
+                if (previous != null && !previous.equals(array)) conflicts.add(path);
+            }
+            if (program.wildcardCount() == 0) leafPaths.add(program.segment(0, program.size()));
+        }
+        for (String leaf : leafPaths) {
+            if (containerKinds.containsKey(leaf)) conflicts.add(leaf);
+        }
+
+        Map<String, Integer> containerIds = new HashMap<>();
+        List<Integer> parents = new ArrayList<>(List.of(-1));
+        List<Boolean> arrays = new ArrayList<>(List.of(false));
+        List<String> names = new ArrayList<>(Arrays.asList((String) null));
+        List<Integer> indexes = new ArrayList<>(List.of(-1));
+        List<Integer> slotContainers = new ArrayList<>();
+        List<String> slotNames = new ArrayList<>();
+        List<Integer> slotIndexes = new ArrayList<>();
+        int[] slotByField = new int[fields.size()];
+        Arrays.fill(slotByField, -1);
+        Map<FieldMapping, Integer> slotByInstance = new IdentityHashMap<>();
+
+        fields:
+        for (int f = 0; f < fields.size(); f++) {
+            PointerProgram program = programs[f];
+            if (program == null || program.wildcardCount() > 0 || !program.isField(0)) continue;
+            for (int t = 0; t < program.size(); t++) {
+                if (conflicts.contains(program.segment(0, t + 1))) continue fields;
+            }
+
+            int container = ROOT;
+            for (int t = 0; t < program.size() - 1; t++) {
+                String path = program.segment(0, t + 1);
+                Integer id = containerIds.get(path);
+                if (id == null) {
+                    id = parents.size();
+                    containerIds.put(path, id);
+                    parents.add(container);
+                    arrays.add(!program.isField(t + 1));
+                    names.add(program.name(t));
+                    indexes.add(program.isIndex(t) ? program.index(t) : -1);
+                }
+                container = id;
+            }
+
+            int last = program.size() - 1;
+            slotByField[f] = slotContainers.size();
+            slotByInstance.put(fields.get(f), slotByField[f]);
+            slotContainers.add(container);
+            slotNames.add(program.name(last));
+            slotIndexes.add(program.isIndex(last) ? program.index(last) : -1);
+        }
+
+        boolean[] arrayFlags = new boolean[arrays.size()];
+        for (int c = 0; c < arrayFlags.length; c++) arrayFlags[c] = arrays.get(c);
+        return new TargetSkeleton(
+            parents.stream().mapToInt(Integer::intValue).toArray(),
+            arrayFlags,
+            names.toArray(new String[0]),
+            indexes.stream().mapToInt(Integer::intValue).toArray(),
+            slotContainers.stream().mapToInt(Integer::intValue).toArray(),
+            slotNames.toArray(new String[0]),
+            slotIndexes.stream().mapToInt(Integer::intValue).toArray(),
+            slotByField,
+            slotByInstance);
+    }
+
+    /** Slot of the field at {@code fieldIndex} in {@code getMappedFields()}, or {@code -1} if not covered. */
+    public int slotAt(int fieldIndex) {
+        return fieldIndex < slotByField.length ? slotByField[fieldIndex] : -1;
+    }
+
+    /** Slot of {@code field} (one of the config's own instances), or {@code -1} if not covered. */
+    public int slotOf(FieldMapping field) {
+        Integer slot = slotByInstance.get(field);
+        return slot == null ? -1 : slot;
+    }
+
+    public int slotCount() {
+        return slotContainers.length;
+    }
+
+    public int containerCount() {
+        return parents.length;
+    }
+
+    /** Sets {@code value} at the pointer of {@code slot} under {@code root}, resolving its containers from the root. */
+    public void set(ObjectNode root, int slot, JsonNode value, JsonNodeFactory factory) {
+        put(walk(root, slotContainers[slot], factory), slot, value);
+    }
+
+    private JsonNode walk(ObjectNode root, int c, JsonNodeFactory factory) {
+        return c == ROOT ? root : open(walk(root, parents[c], factory), c, factory);
+    }
+
+    private void put(JsonNode container, int slot, JsonNode value) {
+        if (container instanceof ObjectNode objectNode) {
+            objectNode.set(slotNames[slot], value);
+        } else {
+            ArrayNode arrayNode = (ArrayNode) container;
+            int index = slotIndexes[slot];
+            if (index < 0) {
+                throw new TransformationException("Array step expects an index but got '" + slotNames[slot] + "'");
+            }
+            while (arrayNode.size() <= index) arrayNode.addNull();
+            arrayNode.set(index, value);
+        }
+    }
+
+    // container c under its resolved parent: reuse what another writer made, create it where there is nothing (or
+    // null), and fail on a value, as setValueAtPointer does
+    private JsonNode open(JsonNode parent, int c, JsonNodeFactory factory) {
+        JsonNode node;
+        if (parent instanceof ObjectNode objectNode) {
+            node = objectNode.get(names[c]);
+            if (node == null || node.isNull()) {
+                node = arrays[c] ? factory.arrayNode() : factory.objectNode();
+                objectNode.set(names[c], node);
+            }
+        } else {
+            ArrayNode arrayNode = (ArrayNode) parent;
+            int index = indexes[c];
+            if (index < 0) {
+                throw new TransformationException("Array step expects an index but got '" + names[c] + "'");
+            }
+            while (arrayNode.size() <= index) arrayNode.addNull();
+            node = arrayNode.get(index);
+            if (node.isNull()) {
+                node = arrays[c] ? factory.arrayNode() : factory.objectNode();
+                arrayNode.set(index, node);
+            }
+        }
+        if (!node.isContainerNode()) {
+            throw new TransformationException("Unexpected node type while traversing pointer: " + node.getNodeType());
+        }
+        return node;
+    }
+}
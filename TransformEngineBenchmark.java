@@ -0,0 +1,234 @@
+import com.dbs.plugin.JsonNav;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Throughput and allocation per operation of the transform engine's workers and pointer helpers, over payloads from
+ * {@link AccountPayloadGenerator} (10 to 10,000 accounts with nested child accounts) and its mapping config.
+ * Each engine benchmark applies every mapped field to a fresh target, i.e. one payload transformation.
+ * <p>
+ * The engine is reached through {@link Engine}. {@link BenchmarkEngineSupplier} provides it from the application
+ * ({@code -Dtransform.bench.app=<application class> -Dtransform.bench.engine-class=<engine class>}); another
+ * {@code Supplier<Engine>} class can be passed with {@code -Dtransform.bench.engine=...}.
+ * The custom benchmark also needs a transformer bean named {@code accountNumberTransformer} in that engine.
+ * Run {@link #main} to get the gc profiler ({@code gc.alloc.rate.norm} is bytes per op) and a machine-readable
+ * {@code jmh-transform.json} (or the path in the first argument); extra arguments are JMH include patterns. Without an
+ * engine, {@link #main} runs the benchmarks that do not need one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class TransformEngineBenchmark {
+
+    /** The engine entry points measured here, each called the way the engine itself calls it. */
+    public interface Engine {
+
+        /** {@code handleArrayProjections} for one field: the compiled per-field path. */
+        void arrayProjections(JsonNode source, FieldMapping field, JsonNode target, MappingConfig config);
+
+        /** {@code handleArrayProjections} for the whole config: the fused pass plus its unfused fields. */
+        void arrayProjectionsFused(JsonNode source, JsonNode target, MappingConfig config);
+
+        /** {@code handleArrayProjectionsInternal}: the string-pointer worker, for root-array shapes. */
+        void arrayProjectionsInternal(JsonNode source, FieldMapping field, JsonNode target, MappingConfig config);
+
+        void arrayProjectionsWithCustom(JsonNode source, FieldMapping field, JsonNode target, MappingConfig config);
+
+        /** {@code setValueAtPointer}. */
+        void writeAtPointer(String pointer, JsonNode value, JsonNode target);
+    }
+
+    @Param({"10", "100", "1000", "10000"})
+    public int accounts;
+
+    @Param({"3"})
+    public int childAccounts;
+
+    @Param({"0.05"})
+    public double nullRate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Engine engine;
+    private JsonNode payload;
+    private MappingConfig config;
+    private MappingConfig customConfig;
+    private List<FieldMapping> customFields;
+    private String[] accountPointers;
+    private PointerProgram accountProgram;
+    private JsonNode value;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        AccountPayloadGenerator generator = new AccountPayloadGenerator(objectMapper)
+                .accounts(accounts)
+                .childAccounts(childAccounts)
+                .nullRate(nullRate);
+        payload = generator.payload();
+        config = generator.config(null);
+        customConfig = generator.config("accountNumberTransformer");
+        customFields = new ArrayList<>();
+        for (FieldMapping field : customConfig.getMappedFields()) {
+            if (field.getCustomTransformer() != null) customFields.add(field);
+        }
+
+        accountPointers = new String[accounts];
+        for (int a = 0; a < accounts; a++) accountPointers[a] = "/data/" + a + "/accountNumber";
+        accountProgram = PointerProgram.compile("/data/*/accountNumber");
+        value = TextNode.valueOf("000000000042");
+
+        String engineFactory = System.getProperty("transform.bench.engine");
+        if (engineFactory != null) {
+            engine = ((Supplier<Engine>) Class.forName(engineFactory).getDeclaredConstructor().newInstance()).get();
+        } else if (BenchmarkEngineSupplier.configured()) {
+            engine = new BenchmarkEngineSupplier().get();
+        }
+    }
+
+    /** Every field on its own, each walking the source arrays again. */
+    @Benchmark
+    public JsonNode arrayProjections() {
+        Engine engine = requireEngine();
+        ObjectNode target = objectMapper.createObjectNode();
+        for (FieldMapping field : config.getMappedFields()) {
+            engine.arrayProjections(payload, field, target, config);
+        }
+        return target;
+    }
+
+    /** The same fields in one fused pass, for comparison with {@link #arrayProjections}. */
+    @Benchmark
+    public JsonNode arrayProjectionsFused() {
+        Engine engine = requireEngine();
+        ObjectNode target = objectMapper.createObjectNode();
+        engine.arrayProjectionsFused(payload, target, config);
+        return target;
+    }
+
+    /** The same fields through the string-pointer worker the compiled path falls back to. */
+    @Benchmark
+    public JsonNode arrayProjectionsInternal() {
+        Engine engine = requireEngine();
+        ObjectNode target = objectMapper.createObjectNode();
+        for (FieldMapping field : config.getMappedFields()) {
+            engine.arrayProjectionsInternal(payload, field, target, config);
+        }
+        return target;
+    }
+
+    /** Only the account number fields, which go through the custom transformer bean. */
+    @Benchmark
+    public JsonNode arrayProjectionsWithCustom() {
+        Engine engine = requireEngine();
+        ObjectNode target = objectMapper.createObjectNode();
+        for (FieldMapping field : customFields) {
+            engine.arrayProjectionsWithCustom(payload, field, target, customConfig);
+        }
+        return target;
+    }
+
+    /** One write per account through a concrete pointer string, as the string workers do. */
+    @Benchmark
+    public JsonNode setValueAtPointer() {
+        Engine engine = requireEngine();
+        ObjectNode target = objectMapper.createObjectNode();
+        for (String pointer : accountPointers) {
+            engine.writeAtPointer(pointer, value, target);
+        }
+        return target;
+    }
+
+    /** The same writes through a compiled pointer with bindings, for comparison with {@link #setValueAtPointer}. */
+    @Benchmark
+    public JsonNode pointerProgramWrite() {
+        ObjectNode target = objectMapper.createObjectNode();
+        int[] bindings = new int[1];
+        for (int a = 0; a < accounts; a++) {
+            bindings[0] = a;
+            accountProgram.write(target, value, bindings, JsonNodeFactory.instance);
+        }
+        return target;
+    }
+
+    @Benchmark
+    public int jsonNavResolve(NavPaths nav) {
+        int found = 0;
+        for (String path : nav.paths) {
+            if (!JsonNav.resolve(payload, path).isMissingNode()) found++;
+        }
+        return found;
+    }
+
+    private Engine requireEngine() {
+        if (engine == null) {
+            throw new IllegalStateException("Set -Dtransform.bench.app and -Dtransform.bench.engine-class, "
+                    + "or -Dtransform.bench.engine to a Supplier<TransformEngineBenchmark.Engine> class");
+        }
+        return engine;
+    }
+
+    /** Paths for {@link #jsonNavResolve}: a leaf of an account and one of its child accounts, for up to 100 accounts. */
+    @State(Scope.Benchmark)
+    public static class NavPaths {
+
+        public enum Style { POINTER, DOT }
+
+        @Param({"POINTER", "DOT"})
+        public Style style;
+
+        String[] paths;
+
+        @Setup(Level.Trial)
+        public void setUp(TransformEngineBenchmark bench) {
+            int count = Math.min(bench.accounts, 100);
+            paths = new String[count * 2];
+            for (int p = 0; p < count; p++) {
+                int a = p * bench.accounts / count;
+                int c = p % bench.childAccounts;
+                paths[2 * p] = style == Style.POINTER
+                        ? "/data/" + a + "/sourceCustomerId"
+                        : "data[" + a + "].sourceCustomerId";
+                paths[2 * p + 1] = style == Style.POINTER
+                        ? "/data/" + a + "/childAccounts/" + c + "/sourceAccountNumber"
+                        : "data[" + a + "].childAccounts[" + c + "].sourceAccountNumber";
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String resultFile = args.length > 0 ? args[0] : "jmh-transform.json";
+
+        OptionsBuilder options = new OptionsBuilder();
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) options.include(args[i]);
+        } else if (System.getProperty("transform.bench.engine") != null || BenchmarkEngineSupplier.configured()) {
+            options.include(TransformEngineBenchmark.class.getSimpleName());
+        } else {
+            System.err.println("No engine configured, running the pointer helper benchmarks only");
+            options.include(TransformEngineBenchmark.class.getSimpleName() + "\\.(pointerProgramWrite|jsonNavResolve)");
+        }
+        Options opts = options
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(opts).run();
+    }
+}
@@ -0,0 +1,237 @@
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Micrometer meters of the transform engine, tagged with the {@code mappingId}:
+ * <ul>
+ *   <li>{@code transform.mapping} (timer): one transformation</li>
+ *   <li>{@code transform.field} (timer, also tagged {@code target}): one array or custom-transformer field, when
+ *       {@code transform.metrics.field-timers} is on; plain non-array fields and streamed mappings are not timed</li>
+ *   <li>{@code transform.fused.group} (timer, also tagged {@code target}, the group's target array): one fused group
+ *       with its nested groups, under the same switch; its fields share the pass, so they have no timers of their own</li>
+ *   <li>{@code transform.array.elements}: source array elements visited</li>
+ *   <li>{@code transform.values.skipped}: null or missing leaf values</li>
+ *   <li>{@code transform.dependency.rejections}: elements whose dependencies did not hold</li>
+ *   <li>{@code transform.custom.calls}: custom transformer invocations (a batch call counts once)</li>
+ *   <li>{@code transform.allocated} (summary, bytes): heap allocated by the calling thread during the transformation</li>
+ * </ul>
+ * The caller that knows the mapping id opens a {@link Request} around the transformation; it is bound to the thread,
+ * so the workers report through the static methods without passing it around, and they do so once per array rather
+ * than per element. Work handed to other threads is attributed with {@link #callAs}; its allocations are not measured.
+ * Outside a request (or with {@code transform.metrics.enabled=false}) the static methods do nothing.
+ */
+@Component
+public class TransformMetrics {
+
+    private static final ThreadLocal<Request> CURRENT = new ThreadLocal<>();
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()
+                    ? threads : null;
+
+    private final MeterRegistry registry;
+    private final Properties properties;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public TransformMetrics(MeterRegistry registry, Properties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    /** Starts measuring a transformation of {@code mappingId} on this thread; close it when done. */
+    public Request start(String mappingId) {
+        if (!properties.isEnabled()) return Request.NONE;
+        Meters m = meters.get(mappingId);
+        if (m == null) {
+            m = meters.computeIfAbsent(mappingId, Meters::new);
+        }
+        Request request = new Request(m, properties.isFieldTimers(), CURRENT.get());
+        CURRENT.set(request);
+        return request;
+    }
+
+    /** Request of this thread, or {@code null}. */
+    public static Request current() {
+        return CURRENT.get();
+    }
+
+    /** Runs {@code task} with {@code request} bound to the current thread (e.g. a fork-join worker). */
+    public static <T> T callAs(Request request, Callable<T> task) throws Exception {
+        if (request == null || request == Request.NONE) return task.call();
+        Request previous = CURRENT.get();
+        CURRENT.set(request);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void arrayElements(int count) {
+        Request request = CURRENT.get();
+        if (request != null) request.elements.add(count);
+    }
+
+    /** Leaf values of one array: {@code skipped} null or missing, {@code rejected} by their dependencies. */
+    public static void leaves(int skipped, int rejected) {
+        if (skipped == 0 && rejected == 0) return;
+        Request request = CURRENT.get();
+        if (request == null) return;
+        if (skipped > 0) request.skipped.add(skipped);
+        if (rejected > 0) request.rejected.add(rejected);
+    }
+
+    public static void customCall() {
+        Request request = CURRENT.get();
+        if (request != null) request.customCalls.increment();
+    }
+
+    /** Start time for {@link #fieldEnd}, or {@code 0} when field timers are off. */
+    public static long fieldStart() {
+        Request request = CURRENT.get();
+        return request != null && request.fieldTimers ? System.nanoTime() : 0;
+    }
+
+    public static void fieldEnd(FieldMapping field, long started) {
+        if (started == 0) return;
+        Request request = CURRENT.get();
+        if (request != null) request.meters.field(field.getTargetPointer()).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    /** Like {@link #fieldEnd}, for a fused group; start it with {@link #fieldStart}. */
+    public static void groupEnd(String targetArrayPath, long started) {
+        if (started == 0) return;
+        Request request = CURRENT.get();
+        if (request != null) request.meters.group(targetArrayPath).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private static void restore(Request previous) {
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /** One transformation in progress; counts may come from several threads. */
+    public static final class Request implements AutoCloseable {
+
+        static final Request NONE = new Request(null, false, null);
+
+        private final Meters meters;
+        private final boolean fieldTimers;
+        private final Request previous;
+        private final long startNanos;
+        private final long startAllocated;
+        private final LongAdder elements = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder customCalls = new LongAdder();
+
+        private Request(Meters meters, boolean fieldTimers, Request previous) {
+            this.meters = meters;
+            this.fieldTimers = fieldTimers;
+            this.previous = previous;
+            this.startNanos = meters == null ? 0 : System.nanoTime();
+            this.startAllocated = meters == null ? -1 : allocatedBytes();
+        }
+
+        /** Records the meters and unbinds the request; call on the thread that started it. */
+        @Override
+        public void close() {
+            if (meters == null) return;
+            restore(previous);
+
+            meters.duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            meters.elements.increment(elements.sum());
+            meters.skipped.increment(skipped.sum());
+            meters.rejected.increment(rejected.sum());
+            meters.customCalls.increment(customCalls.sum());
+            if (startAllocated >= 0) {
+                meters.allocated.record(allocatedBytes() - startAllocated);
+            }
+        }
+    }
+
+    /** Meters of one mapping, registered on first use. */
+    private final class Meters {
+
+        final String mappingId;
+        final Timer duration;
+        final Counter elements;
+        final Counter skipped;
+        final Counter rejected;
+        final Counter customCalls;
+        final DistributionSummary allocated;
+        final Map<String, Timer> fields = new ConcurrentHashMap<>();
+        final Map<String, Timer> groups = new ConcurrentHashMap<>();
+
+        Meters(String mappingId) {
+            this.mappingId = mappingId;
+            this.duration = Timer.builder("transform.mapping")
+                    .description("Time to transform one payload")
+                    .tag("mappingId", mappingId)
+                    .register(registry);
+            this.elements = counter("transform.array.elements", "Source array elements visited");
+            this.skipped = counter("transform.values.skipped", "Null or missing leaf values skipped");
+            this.rejected = counter("transform.dependency.rejections", "Elements whose dependencies did not hold");
+            this.customCalls = counter("transform.custom.calls", "Custom transformer invocations");
+            this.allocated = DistributionSummary.builder("transform.allocated")
+                    .description("Heap allocated by the transforming thread per payload")
+                    .baseUnit("bytes")
+                    .tag("mappingId", mappingId)
+                    .register(registry);
+        }
+
+        Timer field(String target) {
+            return timer(fields, "transform.field", "Time to apply one array or custom-transformer field mapping", target);
+        }
+
+        Timer group(String target) {
+            return timer(groups, "transform.fused.group", "Time to apply one fused group of array field mappings", target);
+        }
+
+        private Timer timer(Map<String, Timer> timers, String name, String description, String target) {
+            String key = target == null ? "" : target;
+            Timer timer = timers.get(key);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(key, t -> Timer.builder(name)
+                        .description(description)
+                        .tag("mappingId", mappingId)
+                        .tag("target", t)
+                        .register(registry));
+            }
+            return timer;
+        }
+
+        private Counter counter(String name, String description) {
+            return Counter.builder(name).description(description).tag("mappingId", mappingId).register(registry);
+        }
+    }
+
+    @Data
+    @Component
+    @ConfigurationProperties(prefix = "transform.metrics")
+    public static class Properties {
+
+        /** Record engine meters at all */
+        private boolean enabled = true;
+
+        /** Also time array and custom-transformer field mappings and fused groups (one timer per mapping and target) */
+        private boolean fieldTimers = false;
+    }
+}
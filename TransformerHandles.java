@@ -0,0 +1,102 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Custom transformer beans resolved once per bean name, instead of {@code applicationContext.getBean} on every call.
+ * Call {@link #precompile} at config load so a missing bean fails there; afterwards {@link #of} is a map read.
+ */
+public final class TransformerHandles {
+
+    private final Function<String, CustomTransformer<?>> lookup;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Handle> handles = new ConcurrentHashMap<>();
+
+    /** {@code lookup} is typically {@code name -> applicationContext.getBean(name, CustomTransformer.class)}. */
+    public TransformerHandles(Function<String, CustomTransformer<?>> lookup, ObjectMapper objectMapper) {
+        this.lookup = lookup;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Resolves the transformer of every field of the config that has one. */
+    public void precompile(MappingConfig config) {
+        if (config.getMappedFields() == null) return;
+        for (FieldMapping field : config.getMappedFields()) {
+            if (field.getCustomTransformer() != null) handle(field.getCustomTransformer());
+        }
+    }
+
+    public Handle of(FieldMapping field) {
+        return handle(field.getCustomTransformer());
+    }
+
+    public Handle handle(String beanName) {
+        Handle handle = handles.get(beanName);
+        if (handle == null) {
+            handle = handles.computeIfAbsent(beanName, name -> new Handle(lookup.apply(name), objectMapper));
+        }
+        return handle;
+    }
+
+    /** A resolved transformer bean and the fastest way to call it. */
+    public static final class Handle {
+
+        private final CustomTransformer<?> bean;
+        private final JsonNodeTransformer nodeBean;
+        private final BatchTransformer batchBean;
+        private final ObjectMapper objectMapper;
+
+        private Handle(CustomTransformer<?> bean, ObjectMapper objectMapper) {
+            this.bean = bean;
+            this.nodeBean = bean instanceof JsonNodeTransformer node ? node : null;
+            this.batchBean = bean instanceof BatchTransformer batch ? batch : null;
+            this.objectMapper = objectMapper;
+        }
+
+        public CustomTransformer<?> bean() {
+            return bean;
+        }
+
+        public boolean isBatch() {
+            return batchBean != null;
+        }
+
+        /** Result of the transformer as a node; {@code null} when it produced nothing. */
+        public JsonNode apply(JsonNode source, FieldMapping field, MappingConfig config) {
+            TransformMetrics.customCall();
+            if (nodeBean != null) {
+                return nodeBean.transformNode(source, field, config);
+            }
+            Object transformed = bean.transform(source, field, config);
+            if (transformed == null || transformed instanceof JsonNode) {
+                return (JsonNode) transformed;
+            }
+            return objectMapper.valueToTree(transformed);
+        }
+
+        /** Results for all {@code sources}, in order: one batch call if the bean supports it, else one call each. */
+        public List<JsonNode> applyAll(List<JsonNode> sources, FieldMapping field, MappingConfig config) {
+            if (batchBean != null) {
+                TransformMetrics.customCall();
+                List<JsonNode> results = batchBean.transformBatch(sources, field, config);
+                if (results == null || results.size() != sources.size()) {
+                    throw new TransformationException(String.format(
+                        "Custom transformer %s returned %s results for %d elements",
+                        field.getCustomTransformer(), results == null ? "no" : String.valueOf(results.size()),
+                        sources.size()));
+                }
+                return results;
+            }
+            List<JsonNode> results = new ArrayList<>(sources.size());
+            for (JsonNode source : sources) {
+                results.add(apply(source, field, config));
+            }
+            return results;
+        }
+    }
+}
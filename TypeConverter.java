@@ -0,0 +1,144 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversion of a field's values from its {@code sourceDataType} to its {@code targetDataType}, compiled once per type
+ * pair instead of dispatching on the type string per value.
+ * <p>
+ * Only the exact target types the mapping configs use ({@code string}, {@code long}, {@code boolean}) get a converter,
+ * and its fast paths only take inputs whose result does not depend on how {@code convertDataType} parses: values that
+ * already have the target type, integral numbers to {@code long}, canonical {@code -?digits} text to {@code long} and
+ * exactly {@code true}/{@code false} text to {@code boolean}. Small longs come from shared nodes.
+ * <p>
+ * {@link #convert} never throws: it returns {@code null} for anything else, and the caller takes {@code convertDataType}
+ * for that value, so values it cannot convert fail (or not) exactly as before. With
+ * {@code -Dtransform.types.verify=true} the caller checks every fast result against {@code convertDataType}
+ * ({@link #verify}).
+ */
+public final class TypeConverter {
+
+    /** Differential check of the fast paths against {@code convertDataType}; for test runs only. */
+    public static final boolean VERIFY = Boolean.getBoolean("transform.types.verify");
+
+    private static final Map<String, Map<String, TypeConverter>> CACHE = new ConcurrentHashMap<>();
+
+    private static final int CACHED_MIN = -128;
+    private static final int CACHED_MAX = 1023;
+    private static final LongNode[] LONGS = new LongNode[CACHED_MAX - CACHED_MIN + 1];
+
+    static {
+        for (int i = CACHED_MIN; i <= CACHED_MAX; i++) {
+            LONGS[i - CACHED_MIN] = LongNode.valueOf(i);
+        }
+    }
+
+    private enum Target { STRING, LONG, BOOLEAN }
+
+    private final Target target;
+    private final String targetType;
+
+    private TypeConverter(Target target, String targetType) {
+        this.target = target;
+        this.targetType = targetType;
+    }
+
+    /** Cached converter of the field's type pair, or {@code null} when the target type has no compiled converter. */
+    public static TypeConverter of(FieldMapping field) {
+        String sourceType = field.getSourceDataType() == null ? "" : field.getSourceDataType();
+        String targetType = field.getTargetDataType() == null ? "" : field.getTargetDataType();
+
+        Map<String, TypeConverter> byTarget = CACHE.get(sourceType);
+        if (byTarget == null) {
+            byTarget = CACHE.computeIfAbsent(sourceType, k -> new ConcurrentHashMap<>());
+        }
+        TypeConverter converter = byTarget.get(targetType);
+        if (converter == null) {
+            converter = byTarget.computeIfAbsent(targetType, t -> compile(sourceType, t));
+        }
+        return converter.target == null ? null : converter;
+    }
+
+    /** Compiles every field's converter; call at config load. */
+    public static void precompile(MappingConfig config) {
+        if (config.getMappedFields() == null) return;
+        for (FieldMapping field : config.getMappedFields()) {
+            if (field.getTargetDataType() != null && !field.getTargetDataType().isBlank()) of(field);
+        }
+    }
+
+    // the source type only names what to expect; every converter accepts any node type
+    private static TypeConverter compile(String sourceType, String targetType) {
+        Target target = switch (targetType) {
+            case "string" -> Target.STRING;
+            case "long" -> Target.LONG;
+            case "boolean" -> Target.BOOLEAN;
+            default -> null;
+        };
+        return new TypeConverter(target, targetType);
+    }
+
+    public String targetType() {
+        return targetType;
+    }
+
+    /** The converted value, or {@code null} if the fast paths do not take it. */
+    public JsonNode convert(JsonNode value) {
+        if (value == null) return null;
+        return switch (target) {
+            case STRING -> value.isTextual() ? value : null;
+            case LONG -> toLong(value);
+            case BOOLEAN -> toBoolean(value);
+        };
+    }
+
+    /** Fails when a fast result differs from {@code convertDataType}'s; see {@link #VERIFY}. */
+    public void verify(JsonNode value, JsonNode fast, JsonNode slow, String targetPointer) {
+        // node equality includes the node class, so a LongNode never equals an IntNode of the same value
+        if (!Objects.equals(fast, slow)) {
+            throw new IllegalStateException("TypeConverter(" + targetType + ") differs from convertDataType at "
+                    + targetPointer + " for " + value + ": " + fast + " vs " + slow);
+        }
+    }
+
+    private static JsonNode toLong(JsonNode value) {
+        if (value.isLong()) return value;
+        if (value.isIntegralNumber()) return value.canConvertToLong() ? longNode(value.longValue()) : null;
+        if (value.isTextual()) return parseLong(value.textValue());
+        return null;
+    }
+
+    private static JsonNode toBoolean(JsonNode value) {
+        if (value.isBoolean()) return value;
+        if (value.isTextual()) {
+            String text = value.textValue();
+            if (text.equals("true")) return BooleanNode.TRUE;
+            if (text.equals("false")) return BooleanNode.FALSE;
+        }
+        return null;
+    }
+
+    // -?digits, at most 18 of them so the value cannot overflow; no sign '+', no whitespace
+    private static JsonNode parseLong(String text) {
+        int start = 0;
+        int end = text.length();
+        boolean negative = start < end && text.charAt(start) == '-';
+        if (negative) start++;
+        if (start == end || end - start > 18) return null;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch < '0' || ch > '9') return null;
+            result = result * 10 + (ch - '0');
+        }
+        return longNode(negative ? -result : result);
+    }
+
+    private static LongNode longNode(long value) {
+        return value >= CACHED_MIN && value <= CACHED_MAX ? LONGS[(int) value - CACHED_MIN] : LongNode.valueOf(value);
+    }
+}
@@ -0,0 +1,52 @@
+package com.dbs.casa.plugin.service.impl;
+
+import org.apache.poi.ss.formula.eval.ErrorEval;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+
+/**
+ * Cell reads for the producers, which share one parsed workbook: returns the text
+ * {@code cell.setCellType(CellType.STRING)} would leave behind without changing the cell, so a producer never sees
+ * types rewritten by the one before it.
+ */
+final class WorkbookCells {
+
+    private WorkbookCells() {}
+
+    /** Trimmed cell text, {@code ""} for absent, blank or unreadable cells. */
+    static String text(Cell cell) {
+        if (cell == null) return "";
+        try {
+            CellType type = cell.getCellType();
+            if (type == CellType.FORMULA) {
+                type = cell.getCachedFormulaResultType();
+            }
+            String text;
+            switch (type) {
+                case STRING:
+                    text = cell.getStringCellValue();
+                    break;
+                case BOOLEAN:
+                    text = cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+                    break;
+                case NUMERIC:
+                    text = cell instanceof XSSFCell
+                            ? ((XSSFCell) cell).getRawValue()
+                            : NumberToTextConverter.toText(cell.getNumericCellValue());
+                    break;
+                case ERROR:
+                    text = cell instanceof XSSFCell
+                            ? ((XSSFCell) cell).getRawValue()
+                            : ErrorEval.getText(cell.getErrorCellValue());
+                    break;
+                default:
+                    text = "";
+            }
+            return text == null ? "" : text.trim();
+        } catch (Exception e) {
+            return "";
+        }
+    }
+}